@@ -81,6 +81,12 @@ public class GeneralConfig extends DummyConfig {
     @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "The maximum network energy transfer rate.", isCommandable = true, minimalValue = 0)
     public static int energyRateLimit = Integer.MAX_VALUE;
 
+    /**
+     * The interval in ticks at which the cached network energy amounts are compared to the actual energy in the batteries.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "The interval in ticks at which the cached network energy amounts are compared to the actual energy in the batteries.", isCommandable = true, minimalValue = 1)
+    public static int energyLedgerReconciliationInterval = 20;
+
     /**
      * The maximum offset in blocks a directional connector can look for its target.
      */
@@ -100,6 +106,49 @@ public class GeneralConfig extends DummyConfig {
      */
     @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "When enabled, networks will stop ticking and values will not be shown and evaluated again. This can be used to fix crashing networks by temporarily enabling this option.", isCommandable = true)
     public static boolean safeMode = false;
+
+    /**
+     * If networks should be updated in parallel, after which the world changes of all networks are applied one by one.
+     * Only networks of which all elements can be updated concurrently are updated in parallel.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "If networks should be updated in parallel, after which the world changes of all networks are applied one by one. Only networks that do not read from the world while being updated, such as networks without readers, are updated in parallel.", isCommandable = true)
+    public static boolean parallelNetworkTicking = false;
+
+    /**
+     * If the first update of network elements should be spread over their update interval.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "If the first update of network elements should be spread over their update interval based on their position, so that elements with the same interval do not all update in the same tick. Disable this to update all elements with the same interval in the same tick.", isCommandable = true)
+    public static boolean spreadNetworkElementUpdates = true;
+
+    /**
+     * The maximum time in milliseconds that all networks together may spend updating their elements in a single tick.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "The maximum time in milliseconds that all networks together may spend updating their elements in a single tick. Elements that do not fit are updated in the next tick. 0 disables this limit.", isCommandable = true, minimalValue = 0)
+    public static int networkTickBudget = 0;
+
+    /**
+     * The maximum time in milliseconds that a single network may spend updating its elements in a single tick.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "The maximum time in milliseconds that a single network may spend updating its elements in a single tick. Elements that do not fit are updated in the next tick. 0 disables this limit.", isCommandable = true, minimalValue = 0)
+    public static int networkTickBudgetPerNetwork = 0;
+
+    /**
+     * The number of updates of a network element per sampled update duration.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "The number of updates of a network element per sampled update duration for the network diagnostics and the hotparts command. 0 disables sampling.", isCommandable = true, minimalValue = 0)
+    public static int networkElementProfilerInterval = 10;
+
+    /**
+     * If read aspects with simple values should only invalidate their dependents when their value has changed.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "If read aspects with simple values should recalculate their value on update, and only invalidate the dependent variables when that value has changed.", isCommandable = true)
+    public static boolean aspectValueChangeCutoff = true;
+
+    /**
+     * If readers should only update the aspects of which the value is being used.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "If readers should only update the aspects of which the value is being used, readers without any used aspects stop updating until one of their aspects is read again.", isCommandable = true)
+    public static boolean demandDrivenReaders = true;
     
     /**
      * Create a new instance.
@@ -1,18 +1,28 @@
 package org.cyclops.integrateddynamics.api.evaluate.expression;
 
-import com.google.common.collect.Lists;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * A basic variable implementation.
+ *
+ * Dependents are stored at most once, compared by identity.
+ * Small sets of dependents are kept in a small array,
+ * larger sets are kept in an open-addressing hash table.
  * @author rubensworks
  */
 public abstract class VariableAdapter<V extends IValue> implements IVariable<V> {
 
-    private List<IVariable<?>> dependents = Lists.newLinkedList();
+    private static final IVariable<?>[] EMPTY = new IVariable<?>[0];
+    /**
+     * The maximum number of dependents that are stored in an array that is searched linearly.
+     */
+    private static final int INLINE_CAPACITY = 8;
+
+    private IVariable<?>[] dependents = EMPTY;
+    private int dependentCount = 0;
 
     @Override
     public boolean canInvalidate() {
@@ -21,16 +31,87 @@ public abstract class VariableAdapter<V extends IValue> implements IVariable<V>
 
     @Override
     public void invalidate() {
-        for (IVariable<?> dependent : dependents) {
-            if (dependent.canInvalidate()) {
+        if (dependentCount == 0) {
+            // Nothing depends on this variable anymore since its last invalidation.
+            return;
+        }
+        // Detach the dependents before invalidating them,
+        // so that invalidations that loop back to this variable stop immediately.
+        IVariable<?>[] currentDependents = dependents;
+        dependents = EMPTY;
+        dependentCount = 0;
+        for (IVariable<?> dependent : currentDependents) {
+            if (dependent != null && dependent.canInvalidate()) {
                 dependent.invalidate();
             }
         }
-        dependents.clear();
     }
 
     @Override
     public void addDependent(IVariable<?> dependent) {
-        dependents.add(dependent);
+        if (dependents.length <= INLINE_CAPACITY) {
+            for (int i = 0; i < dependentCount; i++) {
+                if (dependents[i] == dependent) {
+                    return;
+                }
+            }
+            if (dependentCount < INLINE_CAPACITY) {
+                if (dependentCount == dependents.length) {
+                    dependents = Arrays.copyOf(dependents, Math.min(INLINE_CAPACITY, Math.max(2, dependentCount * 2)));
+                }
+                dependents[dependentCount++] = dependent;
+                return;
+            }
+            rehash(INLINE_CAPACITY * 4);
+        } else if ((dependentCount + 1) * 2 > dependents.length) {
+            rehash(dependents.length * 2);
+        }
+        insertHashed(dependent);
+    }
+
+    /**
+     * @return If this variable currently holds a value that was derived from the variables it depends on.
+     */
+    protected boolean hasCachedValue() {
+        return true;
+    }
+
+    /**
+     * @return If any of the dependents of this variable may still hold a value that was derived from this variable.
+     */
+    protected boolean hasCachedDependents() {
+        for (IVariable<?> dependent : dependents) {
+            if (dependent != null && dependent.canInvalidate()
+                    && (!(dependent instanceof VariableAdapter) || ((VariableAdapter<?>) dependent).hasCachedValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected void rehash(int capacity) {
+        IVariable<?>[] oldDependents = dependents;
+        dependents = new IVariable<?>[capacity];
+        dependentCount = 0;
+        for (IVariable<?> dependent : oldDependents) {
+            if (dependent != null) {
+                insertHashed(dependent);
+            }
+        }
+    }
+
+    protected void insertHashed(IVariable<?> dependent) {
+        int mask = dependents.length - 1;
+        int hash = System.identityHashCode(dependent) * 0x9E3779B9;
+        int index = (hash ^ (hash >>> 16)) & mask;
+        IVariable<?> existing;
+        while ((existing = dependents[index]) != null) {
+            if (existing == dependent) {
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        dependents[index] = dependent;
+        dependentCount++;
     }
 }
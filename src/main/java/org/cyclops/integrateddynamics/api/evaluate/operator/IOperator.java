@@ -72,6 +72,18 @@ public interface IOperator {
      */
     public IValue evaluate(IVariable... input) throws EvaluationException;
 
+    /**
+     * Evaluate the given input values for this operator, without validating their types.
+     * This may only be called when the types of the given input are known to be valid,
+     * for example because they were checked before using {@link #validateTypes(IValueType[])}.
+     * @param input The ordered input values.
+     * @return The output value.
+     * @throws EvaluationException When something went wrong while evaluating.
+     */
+    default public IValue evaluateUnchecked(IVariable... input) throws EvaluationException {
+        return evaluate(input);
+    }
+
     /**
      * @return The required input length.
      */
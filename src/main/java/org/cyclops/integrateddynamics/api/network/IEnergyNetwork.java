@@ -13,4 +13,52 @@ public interface IEnergyNetwork extends IChanneledNetwork<IEnergyStorage>, IPosi
      */
     public int getConsumptionRate();
 
+    /**
+     * @param channel The channel id, the wildcard channel will return the consumption rate of all channels.
+     * @return The current consumption rate of the network elements in the given channel.
+     */
+    default public int getConsumptionRate(int channel) {
+        return channel == IChanneledNetwork.WILDCARD_CHANNEL ? getConsumptionRate() : 0;
+    }
+
+    /**
+     * Get the energy flow of a channel.
+     * @param channel The channel id, the wildcard channel will sum the flow of all channels.
+     * @param type The type of energy flow.
+     * @param lastMinute If the flow of the last minute should be returned, otherwise the flow of the last second.
+     * @return The amount of energy, or the number of updates for {@link FlowType#STARVED}.
+     */
+    default public long getEnergyFlow(int channel, FlowType type, boolean lastMinute) {
+        return 0;
+    }
+
+    /**
+     * @return The channel ids for which energy flow has been recorded.
+     */
+    default public int[] getEnergyFlowChannels() {
+        return new int[0];
+    }
+
+    /**
+     * The types of energy flow within a network.
+     */
+    public static enum FlowType {
+        /**
+         * Energy that was inserted into the network.
+         */
+        INSERTED,
+        /**
+         * Energy that was extracted from the network.
+         */
+        EXTRACTED,
+        /**
+         * Energy that was consumed by updating network elements.
+         */
+        CONSUMED,
+        /**
+         * Network element updates that were skipped because of insufficient energy.
+         */
+        STARVED
+    }
+
 }
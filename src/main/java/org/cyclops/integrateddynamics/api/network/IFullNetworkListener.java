@@ -18,6 +18,14 @@ public interface IFullNetworkListener {
      */
     public boolean addNetworkElement(INetworkElement element, boolean networkPreinit);
 
+    /**
+     * Called after the given network element was successfully added to the network.
+     * @param element The network element.
+     */
+    default public void addNetworkElementPost(INetworkElement element) {
+
+    }
+
     /**
      * Checks if the given network element can be removed from the network
      * @param element The network element.
@@ -83,4 +91,53 @@ public interface IFullNetworkListener {
      */
     public void onSkipUpdate(INetworkElement element);
 
+    /**
+     * Called after all network elements that were due in a network tick have been updated or skipped.
+     */
+    default public void postUpdateElements() {
+
+    }
+
+    /**
+     * Called when the given element was invalidated, for example because its chunk was unloaded.
+     * @param element The network element, this may be a different instance than the one stored in the network.
+     */
+    default public void onElementInvalidated(INetworkElement element) {
+
+    }
+
+    /**
+     * Called when the given element was revalidated, for example because its chunk was loaded again.
+     * @param element The network element, this may be a different instance than the one stored in the network.
+     */
+    default public void onElementRevalidated(INetworkElement element) {
+
+    }
+
+    /**
+     * Called when the given element is not scheduled for updates anymore while it remains in the network,
+     * for example because it was put to sleep.
+     * The element will not be updated or skipped until it is scheduled again.
+     * @param element The network element.
+     */
+    default public void onElementUnscheduled(INetworkElement element) {
+
+    }
+
+    /**
+     * Called before the priority and channel of the given element are changed.
+     * @param element The network element.
+     */
+    default public void setPriorityAndChannelPre(INetworkElement element) {
+
+    }
+
+    /**
+     * Called after the priority and channel of the given element were changed.
+     * @param element The network element.
+     */
+    default public void setPriorityAndChannelPost(INetworkElement element) {
+
+    }
+
 }
@@ -5,6 +5,7 @@ import org.cyclops.cyclopscore.persist.nbt.INBTSerializable;
 import org.cyclops.integrateddynamics.api.network.event.INetworkEventBus;
 import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
 
+import javax.annotation.Nullable;
 import java.util.Set;
 
 /**
@@ -36,6 +37,15 @@ public interface INetwork extends IFullNetworkListener, INBTSerializable {
      */
     public void removeNetworkElementUpdateable(INetworkElement element);
 
+    /**
+     * Schedule an update as soon as possible for the given element,
+     * if it was removed from the tickable elements set because it had nothing to do.
+     * Nothing happens if the element is not stored in this network, is invalidated, or is already scheduled.
+     * This can be called with a newly created instance of the element.
+     * @param element The network element.
+     */
+    public void wakeNetworkElement(INetworkElement element);
+
     /**
      * Set the priority and channel of the given network element.
      * @param element The network element.
@@ -82,6 +92,21 @@ public interface INetwork extends IFullNetworkListener, INBTSerializable {
      */
     public void resetLastSecondDurations();
 
+    /**
+     * @return The number of element updates that were deferred to a next tick in the last second,
+     *         because they did not fit in the tick budget.
+     */
+    public long getLastSecondDeferredUpdates();
+
+    /**
+     * The update durations of network elements are sampled continuously,
+     * at an interval that can be configured.
+     * @param networkElement The network element.
+     * @return The sampled update durations of the given element, or null if none were sampled yet.
+     */
+    @Nullable
+    public NetworkElementProfile getProfile(INetworkElement networkElement);
+
     /**
      * @return If this network has crashed.
      */
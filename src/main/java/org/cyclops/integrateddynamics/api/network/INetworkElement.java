@@ -35,6 +35,17 @@ public interface INetworkElement extends Comparable<INetworkElement> {
      */
     public void update(INetwork network);
 
+    /**
+     * If this element can be updated while other networks are being updated on other threads.
+     * This is only the case if neither its update, nor its post-update, nor the evaluation of its variables
+     * access the world, except for world changes that are passed to the apply phase of a network tick.
+     * This must not change while this element is part of a network.
+     * @return If this element can be updated concurrently.
+     */
+    default public boolean isConcurrent() {
+        return false;
+    }
+
     /**
      * Called right before the network is terminated or will be reset.
      * @param network The network to update in.
@@ -136,4 +147,16 @@ public interface INetworkElement extends Comparable<INetworkElement> {
      */
     public void revalidate(INetwork network);
 
+    /**
+     * Compare this element to another element,
+     * while ignoring properties that influence the ordering but that can change while the element is in a network,
+     * such as its priority.
+     * This makes it possible to find the stored instance of an element based on a newly created instance.
+     * @param element Another network element.
+     * @return The comparison result.
+     */
+    default public int compareIdentity(INetworkElement element) {
+        return compareTo(element);
+    }
+
 }
@@ -26,6 +26,13 @@ public interface IPositionedAddonsNetwork {
      */
     public Collection<PrioritizedPartPos> getPositions();
 
+    /**
+     * @return The number of stored positions.
+     */
+    default public int getPositionCount() {
+        return getPositions().size();
+    }
+
     /**
      * Get an iterator over the positions in the given channel.
      *
@@ -103,7 +110,10 @@ public interface IPositionedAddonsNetwork {
                 if (compPos == 0) {
                     EnumFacing thisSide = this.getPartPos().getSide();
                     EnumFacing otherSide = o.getPartPos().getSide();
-                    return thisSide == null ? -1 : (otherSide == null ? 1 : thisSide.compareTo(otherSide));
+                    if (thisSide == null) {
+                        return otherSide == null ? 0 : -1;
+                    }
+                    return otherSide == null ? 1 : thisSide.compareTo(otherSide);
                 }
                 return compPos;
             }
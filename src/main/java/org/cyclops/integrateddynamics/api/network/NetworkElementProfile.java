@@ -0,0 +1,59 @@
+package org.cyclops.integrateddynamics.api.network;
+
+/**
+ * A snapshot of the sampled update durations of a network element.
+ * @author rubensworks
+ */
+public final class NetworkElementProfile {
+
+    private final long averageDurationNs;
+    private final long maxDurationNs;
+    private final long p99DurationNs;
+    private final long samples;
+    private final long invocations;
+
+    public NetworkElementProfile(long averageDurationNs, long maxDurationNs, long p99DurationNs, long samples,
+                                 long invocations) {
+        this.averageDurationNs = averageDurationNs;
+        this.maxDurationNs = maxDurationNs;
+        this.p99DurationNs = p99DurationNs;
+        this.samples = samples;
+        this.invocations = invocations;
+    }
+
+    /**
+     * @return The exponentially weighted moving average of the update duration in nanoseconds.
+     */
+    public long getAverageDurationNs() {
+        return averageDurationNs;
+    }
+
+    /**
+     * @return The maximum update duration in nanoseconds.
+     */
+    public long getMaxDurationNs() {
+        return maxDurationNs;
+    }
+
+    /**
+     * @return An upper bound of the 99th percentile of the update duration in nanoseconds.
+     */
+    public long getP99DurationNs() {
+        return p99DurationNs;
+    }
+
+    /**
+     * @return The number of sampled updates.
+     */
+    public long getSamples() {
+        return samples;
+    }
+
+    /**
+     * @return The number of updates, including the ones that were not sampled.
+     */
+    public long getInvocations() {
+        return invocations;
+    }
+
+}
@@ -175,6 +175,12 @@ public interface IPartType<P extends IPartType<P, S>, S extends IPartState<P>> e
      */
     public void update(INetwork network, IPartNetwork partNetwork, PartTarget target, S state);
 
+    /**
+     * @return If the network elements of this part can be updated concurrently with other networks.
+     * @see INetworkElement#isConcurrent()
+     */
+    public boolean isConcurrent();
+
     /**
      * Called right before the network is terminated or will be reset.
      * @param network The network to update in.
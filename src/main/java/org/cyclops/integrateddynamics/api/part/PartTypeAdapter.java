@@ -215,6 +215,11 @@ public abstract class PartTypeAdapter<P extends IPartType<P, S>, S extends IPart
 
     }
 
+    @Override
+    public boolean isConcurrent() {
+        return false;
+    }
+
     @Override
     public int getConsumptionRate(S state) {
         return 0;
@@ -4,6 +4,8 @@ import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
 
+import javax.annotation.Nullable;
+
 /**
  * An element that can be used inside parts to access a specific aspect of something to read.
  * @author rubensworks
@@ -22,4 +24,12 @@ public interface IAspectRead<V extends IValue, T extends IValueType<V>> extends
      */
     public AspectUpdateType getUpdateType();
 
+    /**
+     * @param variable The variable of this aspect in a part, or null if it has not been created yet.
+     * @return If updating this aspect can be skipped, because the value of the variable is not being observed.
+     */
+    default public boolean canSkipUpdate(@Nullable IAspectVariable<V> variable) {
+        return false;
+    }
+
 }
@@ -39,4 +39,18 @@ public interface IPartStateReader<P extends IPartTypeReader> extends IPartState<
      */
     public void resetVariables();
 
+    /**
+     * @return If the reader stopped updating, because none of its aspects are being observed.
+     */
+    default public boolean isSleeping() {
+        return false;
+    }
+
+    /**
+     * @param sleeping If the reader stopped updating, because none of its aspects are being observed.
+     */
+    default public void setSleeping(boolean sleeping) {
+
+    }
+
 }
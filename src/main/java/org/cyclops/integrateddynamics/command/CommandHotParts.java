@@ -0,0 +1,86 @@
+package org.cyclops.integrateddynamics.command;
+
+import com.google.common.collect.Lists;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextComponentTranslation;
+import org.apache.commons.lang3.tuple.Pair;
+import org.cyclops.cyclopscore.command.CommandMod;
+import org.cyclops.cyclopscore.init.ModBase;
+import org.cyclops.integrateddynamics.IntegratedDynamics;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.cyclops.integrateddynamics.api.network.IPartNetworkElement;
+import org.cyclops.integrateddynamics.api.network.NetworkElementProfile;
+import org.cyclops.integrateddynamics.api.part.PartPos;
+import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Command for showing the parts with the highest sampled update durations.
+ * @author rubensworks
+ *
+ */
+public class CommandHotParts extends CommandMod {
+
+    public static final String NAME = "hotparts";
+    private static final int DEFAULT_COUNT = 10;
+
+    public CommandHotParts(ModBase mod) {
+        super(mod, NAME);
+    }
+
+    @Override
+    public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] parts, BlockPos blockPos) {
+        return null;
+    }
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] parts) {
+        int count = DEFAULT_COUNT;
+        if (parts.length > 0) {
+            try {
+                count = Math.max(1, Integer.parseInt(parts[0]));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(new TextComponentString("Invalid count: " + parts[0]));
+                return;
+            }
+        }
+
+        List<Pair<IPartNetworkElement, NetworkElementProfile>> profiles = Lists.newArrayList();
+        for (INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworksSnapshot()) {
+            for (INetworkElement element : network.getElements()) {
+                if (element instanceof IPartNetworkElement) {
+                    NetworkElementProfile profile = network.getProfile(element);
+                    if (profile != null) {
+                        profiles.add(Pair.of((IPartNetworkElement) element, profile));
+                    }
+                }
+            }
+        }
+        profiles.sort(Comparator.comparingLong(
+                (Pair<IPartNetworkElement, NetworkElementProfile> pair) -> pair.getRight().getAverageDurationNs()).reversed());
+
+        if (profiles.isEmpty()) {
+            sender.sendMessage(new TextComponentString("No part updates were sampled yet."));
+        }
+        for (Pair<IPartNetworkElement, NetworkElementProfile> pair : profiles.subList(0, Math.min(count, profiles.size()))) {
+            PartPos pos = pair.getLeft().getTarget().getCenter();
+            NetworkElementProfile profile = pair.getRight();
+            ITextComponent line = new TextComponentTranslation(pair.getLeft().getPart().getUnlocalizedName());
+            line.appendSibling(new TextComponentString(String.format(
+                    " @ %s,%s,%s %s (%s): average %.3f ms; p99 %.3f ms; max %.3f ms; samples %s/%s",
+                    pos.getPos().getBlockPos().getX(), pos.getPos().getBlockPos().getY(), pos.getPos().getBlockPos().getZ(),
+                    pos.getSide(), pos.getPos().getDimensionId(),
+                    profile.getAverageDurationNs() / 1000000D, profile.getP99DurationNs() / 1000000D,
+                    profile.getMaxDurationNs() / 1000000D, profile.getSamples(), profile.getInvocations())));
+            sender.sendMessage(line);
+        }
+    }
+
+}
@@ -3,9 +3,13 @@ package org.cyclops.integrateddynamics.core;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
 import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
+import org.cyclops.integrateddynamics.core.network.Network;
+import org.cyclops.integrateddynamics.core.network.NetworkTickBudget;
+import org.cyclops.integrateddynamics.core.network.NetworkTickPhases;
 import org.cyclops.integrateddynamics.core.network.diagnostics.NetworkDiagnostics;
 import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
 
@@ -17,6 +21,7 @@ public final class TickHandler {
 
     private static TickHandler INSTANCE;
     private int tick = 0;
+    private int networkOffset = 0;
     private boolean shouldCrash = false;
 
     private TickHandler() {
@@ -45,15 +50,39 @@ public final class TickHandler {
                 tick = (tick + 1) % MinecraftHelpers.SECOND_IN_TICKS;
             }
             boolean shouldSendTickDurationInfo = isBeingDiagnozed && tick == 0;
-            for(INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworks()) {
+            INetwork[] networks = NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworksSnapshot();
+            if (NetworkTickBudget.hasGlobalBudget()) {
+                // Let networks take turns in being first, so that the global budget is divided fairly.
+                networks = NetworkTickBudget.rotate(networks, networkOffset++);
+            }
+            NetworkTickBudget.beginTick();
+            try {
+                updateNetworks(networks, isBeingDiagnozed, shouldSendTickDurationInfo);
+            } finally {
+                NetworkTickBudget.endTick();
+            }
+        }
+    }
+
+    protected void updateNetworks(INetwork[] networks, boolean isBeingDiagnozed, boolean shouldSendTickDurationInfo) {
+        if (GeneralConfig.parallelNetworkTicking) {
+            for(INetwork network : networks) {
+                if (isBeingDiagnozed && (shouldSendTickDurationInfo || network.hasChanged())) {
+                    NetworkDiagnostics.getInstance().sendNetworkUpdate(network);
+                    network.resetLastSecondDurations();
+                }
+            }
+            // Networks that may load chunks are computed on the server thread, before the other networks.
+            NetworkTickPhases.tick(networks, this::updateNetwork, network -> network.setCrashed(true), true,
+                    network -> network instanceof Network && ((Network) network).canUpdateConcurrently());
+        } else {
+            for(INetwork network : networks) {
                 if (isBeingDiagnozed && (shouldSendTickDurationInfo || network.hasChanged())) {
                     NetworkDiagnostics.getInstance().sendNetworkUpdate(network);
                     network.resetLastSecondDurations();
                 }
                 try {
-                    if (!network.isCrashed()) {
-                        network.update();
-                    }
+                    updateNetwork(network);
                 } catch (Throwable e) {
                     network.setCrashed(true);
                     throw e;
@@ -62,4 +91,10 @@ public final class TickHandler {
         }
     }
 
+    protected void updateNetwork(INetwork network) {
+        if (!network.isCrashed()) {
+            network.update();
+        }
+    }
+
 }
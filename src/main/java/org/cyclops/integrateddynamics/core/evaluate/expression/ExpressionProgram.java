@@ -0,0 +1,185 @@
+package org.cyclops.integrateddynamics.core.evaluate.expression;
+
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.expression.ILazyExpressionValueCache;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.operator.OperatorBase;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A flattened form of a DAG of {@link LazyExpression}s that share the same value cache.
+ *
+ * Each expression in the DAG gets a slot, and the inputs of each slot are either other slots or leaf variables.
+ * When the types of all inputs of an expression are statically known at link time and valid for its operator,
+ * the expression is evaluated without validating the input types on every evaluation,
+ * by calling the operator function directly or through {@link IOperator#evaluateUnchecked(IVariable...)}.
+ * Other expressions fall back to {@link IOperator#evaluate(IVariable...)}.
+ *
+ * Inputs are still pulled lazily by the operator functions, so short-circuiting operators behave as before.
+ * @author rubensworks
+ */
+public class ExpressionProgram {
+
+    private final ILazyExpressionValueCache valueCache;
+    private final LazyExpression[] nodes;
+    private final int[] ids;
+    private final IOperator[] operators;
+    private final boolean[] trusted;
+    private final OperatorBase.IFunction[] functions;
+    private final IVariable[][] inputs;
+    private final int[][] inputSlots;
+    private final OperatorBase.SafeVariablesGetter[] getters;
+
+    protected ExpressionProgram(ILazyExpressionValueCache valueCache, List<LazyExpression> expressions,
+                                Map<LazyExpression, Integer> slots) {
+        int size = expressions.size();
+        this.valueCache = valueCache;
+        this.nodes = expressions.toArray(new LazyExpression[size]);
+        this.ids = new int[size];
+        this.operators = new IOperator[size];
+        this.trusted = new boolean[size];
+        this.functions = new OperatorBase.IFunction[size];
+        this.inputs = new IVariable[size][];
+        this.inputSlots = new int[size][];
+        this.getters = new OperatorBase.SafeVariablesGetter[size];
+        for (int slot = 0; slot < size; slot++) {
+            LazyExpression expression = nodes[slot];
+            IVariable[] input = expression.getInput();
+            ids[slot] = expression.getId();
+            operators[slot] = expression.getOperator();
+            inputs[slot] = input;
+            inputSlots[slot] = new int[input.length];
+            for (int i = 0; i < input.length; i++) {
+                Integer inputSlot = input[i] instanceof LazyExpression ? slots.get(input[i]) : null;
+                inputSlots[slot][i] = inputSlot == null ? -1 : inputSlot;
+            }
+            trusted[slot] = isTrusted(expression);
+            if (trusted[slot] && expression.getOperator() instanceof OperatorBase) {
+                functions[slot] = ((OperatorBase) expression.getOperator()).getFunction();
+                getters[slot] = new SlotVariablesGetter(slot, input);
+            }
+        }
+    }
+
+    /**
+     * Link the DAG of expressions that is rooted at the given expression.
+     * @param root The root expression.
+     * @return The program, the root expression is at slot 0.
+     */
+    public static ExpressionProgram link(LazyExpression root) {
+        ILazyExpressionValueCache valueCache = root.getValueCache();
+        List<LazyExpression> expressions = Lists.newArrayList();
+        Map<LazyExpression, Integer> slots = new IdentityHashMap<>();
+        Deque<LazyExpression> pending = new ArrayDeque<>();
+        slots.put(root, 0);
+        expressions.add(root);
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            for (IVariable input : pending.poll().getInput()) {
+                if (input instanceof LazyExpression && ((LazyExpression) input).getValueCache() == valueCache
+                        && !slots.containsKey(input)) {
+                    LazyExpression expression = (LazyExpression) input;
+                    slots.put(expression, expressions.size());
+                    expressions.add(expression);
+                    pending.add(expression);
+                }
+            }
+        }
+        return new ExpressionProgram(valueCache, expressions, slots);
+    }
+
+    /**
+     * Check if the input types of the given expression can be determined at link time.
+     * This is not the case for inputs of a category type, as their actual type can depend on their value.
+     * @param expression An expression.
+     * @return If the operator of the expression can be evaluated without validating its input types.
+     */
+    protected static boolean isTrusted(LazyExpression expression) {
+        IVariable[] input = expression.getInput();
+        IValueType[] types = new IValueType[input.length];
+        for (int i = 0; i < input.length; i++) {
+            IValueType type = input[i] instanceof LazyExpression
+                    ? ((LazyExpression) input[i]).getOperator().getOutputType()
+                    : input[i] == null ? null : input[i].getType();
+            if (type == null || type.isCategory()) {
+                return false;
+            }
+            types[i] = type;
+        }
+        return expression.getOperator().validateTypes(types) == null;
+    }
+
+    /**
+     * @return The number of expressions in this program.
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Evaluate the root expression.
+     * @return The resulting value.
+     * @throws EvaluationException If an exception occurs while evaluating.
+     */
+    public IValue evaluate() throws EvaluationException {
+        return evaluateSlot(0);
+    }
+
+    protected IValue evaluateSlot(int slot) throws EvaluationException {
+        int id = ids[slot];
+        if (valueCache.hasValue(id)) {
+            return valueCache.getValue(id);
+        }
+        IVariable[] input = inputs[slot];
+        IValue value;
+        try {
+            OperatorBase.IFunction function = functions[slot];
+            if (function != null) {
+                value = function.evaluate(getters[slot]);
+            } else if (trusted[slot]) {
+                value = operators[slot].evaluateUnchecked(input);
+            } else {
+                value = operators[slot].evaluate(input);
+            }
+        } catch (EvaluationException e) {
+            if (slot > 0) {
+                nodes[slot].setErrored();
+            }
+            throw e;
+        }
+        for (IVariable inputVariable : input) {
+            inputVariable.addDependent(nodes[slot]);
+        }
+        valueCache.setValue(id, value);
+        return value;
+    }
+
+    /**
+     * A variables getter that evaluates inputs within this program by their slot.
+     */
+    protected class SlotVariablesGetter extends OperatorBase.SafeVariablesGetter {
+
+        private final int slot;
+
+        public SlotVariablesGetter(int slot, IVariable... variables) {
+            super(variables);
+            this.slot = slot;
+        }
+
+        @Override
+        public <V extends IValue> V getValue(int i) throws EvaluationException {
+            int inputSlot = inputSlots[slot][i];
+            return (V) (inputSlot >= 0 ? evaluateSlot(inputSlot) : getVariables()[i].getValue());
+        }
+    }
+
+}
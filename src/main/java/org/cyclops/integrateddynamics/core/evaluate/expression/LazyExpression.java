@@ -21,6 +21,7 @@ public class LazyExpression<V extends IValue> extends VariableAdapter<V> impleme
     private final IVariable[] input;
     private final ILazyExpressionValueCache valueCache;
     private boolean errored = false;
+    private ExpressionProgram program = null;
 
     public LazyExpression(int id, IOperator op, IVariable[] input, ILazyExpressionValueCache valueCache) {
         this.id = id;
@@ -29,8 +30,21 @@ public class LazyExpression<V extends IValue> extends VariableAdapter<V> impleme
         this.valueCache = valueCache;
     }
 
+    /**
+     * Flatten the DAG of expressions below this expression into a program,
+     * which will be used for evaluating this expression from now on.
+     * @return This expression.
+     */
+    public LazyExpression<V> link() {
+        this.program = ExpressionProgram.link(this);
+        return this;
+    }
+
     @Override
     public IValue evaluate() throws EvaluationException {
+        if(program != null) {
+            return program.evaluate();
+        }
         if(valueCache.hasValue(id)) {
             return valueCache.getValue(id);
         }
@@ -76,6 +90,23 @@ public class LazyExpression<V extends IValue> extends VariableAdapter<V> impleme
         valueCache.removeValue(id);
     }
 
+    @Override
+    protected boolean hasCachedValue() {
+        return valueCache.hasValue(id);
+    }
+
+    protected void setErrored() {
+        this.errored = true;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public ILazyExpressionValueCache getValueCache() {
+        return valueCache;
+    }
+
     public IOperator getOperator() {
         return op;
     }
@@ -120,6 +120,11 @@ public class CurriedOperator implements IOperator {
         return baseOperator.evaluate(deriveFullInputVariables(input));
     }
 
+    @Override
+    public IValue evaluateUnchecked(IVariable... input) throws EvaluationException {
+        return baseOperator.evaluateUnchecked(deriveFullInputVariables(input));
+    }
+
     @Override
     public int getRequiredInputLength() {
         return baseOperator.getRequiredInputLength() - 1;
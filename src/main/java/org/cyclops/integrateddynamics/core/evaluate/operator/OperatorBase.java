@@ -52,7 +52,7 @@ public abstract class OperatorBase implements IOperator {
 
     protected abstract String getUnlocalizedType();
 
-    protected IFunction getFunction() {
+    public IFunction getFunction() {
         return this.function;
     }
 
@@ -136,6 +136,11 @@ public abstract class OperatorBase implements IOperator {
         return function.evaluate(new SafeVariablesGetter(input));
     }
 
+    @Override
+    public IValue evaluateUnchecked(IVariable... input) throws EvaluationException {
+        return function.evaluate(new SafeVariablesGetter(input));
+    }
+
     @Override
     public int getRequiredInputLength() {
         return getInputTypes().length;
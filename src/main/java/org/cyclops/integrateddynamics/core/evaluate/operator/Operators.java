@@ -872,8 +872,9 @@ public final class Operators {
             .function(variables -> {
                 IValueTypeListProxy<IValueType<IValue>, IValue> list = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
                 IOperator operator = OperatorBuilders.getSafePredictate((ValueTypeOperator.ValueOperator) variables.getValue(1));
+                ValidatingOperatorEvaluator evaluator = new ValidatingOperatorEvaluator(operator, false);
                 for (IValue value : list) {
-                    IValue result = operator.evaluate(new IVariable[]{new Variable<>(value.getType(), value)});
+                    IValue result = evaluator.evaluate(value);
                     ValueHelpers.validatePredicateOutput(operator, result);
                     if (((ValueTypeBoolean.ValueBoolean) result).getRawValue()) {
                         return ValueTypeBoolean.ValueBoolean.of(true);
@@ -911,9 +912,10 @@ public final class Operators {
             .function(variables -> {
                 IValueTypeListProxy<IValueType<IValue>, IValue> list = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
                 IOperator operator = OperatorBuilders.getSafePredictate((ValueTypeOperator.ValueOperator) variables.getValue(1));
+                ValidatingOperatorEvaluator evaluator = new ValidatingOperatorEvaluator(operator, false);
                 int count = 0;
                 for (IValue listValue : list) {
-                    IValue result = operator.evaluate(new IVariable[]{new Variable<>(listValue.getType(), listValue)});
+                    IValue result = evaluator.evaluate(listValue);
                     ValueHelpers.validatePredicateOutput(operator, result);
                     if (((ValueTypeBoolean.ValueBoolean) result).getRawValue()) {
                         count++;
@@ -2428,9 +2430,10 @@ public final class Operators {
                             final IOperator innerOperator = input.getLeft();
                             OperatorBase.SafeVariablesGetter variables = input.getRight();
                             ValueTypeList.ValueList<?, ?> inputList = variables.getValue(0);
+                            ValidatingOperatorEvaluator evaluator = new ValidatingOperatorEvaluator(innerOperator, true);
                             List<IValue> filtered = Lists.newArrayList();
                             for (IValue value : inputList.getRawValue()) {
-                                IValue result = ValueHelpers.evaluateOperator(innerOperator, value);
+                                IValue result = evaluator.evaluate(value);
                                 ValueHelpers.validatePredicateOutput(innerOperator, result);
                                 if (((ValueTypeBoolean.ValueBoolean) result).getRawValue()) {
                                     filtered.add(value);
@@ -2533,10 +2536,9 @@ public final class Operators {
                 final IOperator innerOperator = OperatorBuilders.getSafeOperator((ValueTypeOperator.ValueOperator)
                         variables.getValue(0), accumulator.getType());
                 ValueTypeList.ValueList<IValueType<IValue>, IValue> inputList = variables.getValue(1);
+                ValidatingOperatorEvaluator evaluator = new ValidatingOperatorEvaluator(innerOperator, false);
                 for (IValue listValue : inputList.getRawValue()) {
-                    accumulator = innerOperator.evaluate(new IVariable[]{
-                            new Variable<>(accumulator.getType(), accumulator),
-                            new Variable<>(listValue.getType(), listValue)});
+                    accumulator = evaluator.evaluate(accumulator, listValue);
                 }
                 return accumulator;
             }).build());
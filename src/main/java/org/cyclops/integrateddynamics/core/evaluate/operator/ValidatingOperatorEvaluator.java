@@ -0,0 +1,85 @@
+package org.cyclops.integrateddynamics.core.evaluate.operator;
+
+import org.cyclops.cyclopscore.helper.L10NHelpers;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
+import org.cyclops.integrateddynamics.core.evaluate.variable.Variable;
+
+/**
+ * Evaluates an operator repeatedly, for example for all elements of a list.
+ *
+ * The input types are only validated when they differ from the previously validated input types,
+ * after which {@link IOperator#evaluateUnchecked(IVariable...)} is used.
+ * For lists with elements of a single type, this means that validation only happens once.
+ *
+ * The validated input types are replaced as a whole and never modified,
+ * so an evaluator can be shared between threads, such as in a list value that is used by multiple networks.
+ * @author rubensworks
+ */
+public class ValidatingOperatorEvaluator {
+
+    private final IOperator operator;
+    private final boolean curry;
+    private final int requiredInputLength;
+    private volatile IValueType[] validatedTypes;
+
+    /**
+     * @param operator The operator to evaluate.
+     * @param curry If a curried operator must be returned for too few values,
+     *              as done by {@link ValueHelpers#evaluateOperator(IOperator, IVariable...)}.
+     */
+    public ValidatingOperatorEvaluator(IOperator operator, boolean curry) {
+        this.operator = operator;
+        this.curry = curry;
+        this.requiredInputLength = operator.getRequiredInputLength();
+        this.validatedTypes = new IValueType[requiredInputLength];
+    }
+
+    public IOperator getOperator() {
+        return operator;
+    }
+
+    /**
+     * Evaluate the operator for the given values.
+     * If the number of values is not equal to the required input length and currying is enabled,
+     * a curried operator will be returned.
+     * @param values The input values.
+     * @return The resulting value.
+     * @throws EvaluationException If the value types are invalid or something went wrong during operator evaluation.
+     */
+    public IValue evaluate(IValue... values) throws EvaluationException {
+        IVariable[] variables = new IVariable[values.length];
+        for (int i = 0; i < variables.length; i++) {
+            IValue value = values[i];
+            variables[i] = new Variable<>(value.getType(), value);
+        }
+        if (values.length != requiredInputLength) {
+            return curry ? ValueHelpers.evaluateOperator(operator, variables) : operator.evaluate(variables);
+        }
+        IValueType[] validatedTypes = this.validatedTypes;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].getType() != validatedTypes[i]) {
+                validate(values);
+                break;
+            }
+        }
+        return operator.evaluateUnchecked(variables);
+    }
+
+    protected void validate(IValue[] values) throws EvaluationException {
+        IValueType[] types = new IValueType[values.length];
+        for (int i = 0; i < values.length; i++) {
+            types[i] = values[i].getType();
+        }
+        L10NHelpers.UnlocalizedString error = operator.validateTypes(types);
+        if (error != null) {
+            throw new EvaluationException(error.localize());
+        }
+        this.validatedTypes = types;
+    }
+
+}
@@ -5,19 +5,20 @@ import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+import org.cyclops.integrateddynamics.core.evaluate.operator.ValidatingOperatorEvaluator;
 
 /**
  * A list proxy for a list that is mapped to another list by an operator.
  */
 public class ValueTypeListProxyOperatorMapped extends ValueTypeListProxyBase<IValueType<IValue>, IValue> {
 
-    private final IOperator operator;
     private final IValueTypeListProxy listProxy;
+    private final ValidatingOperatorEvaluator evaluator;
 
     public ValueTypeListProxyOperatorMapped(IOperator operator, IValueTypeListProxy listProxy) {
         super(ValueTypeListProxyFactories.MATERIALIZED.getName(), operator.getOutputType());
-        this.operator = operator;
         this.listProxy = listProxy;
+        this.evaluator = new ValidatingOperatorEvaluator(operator, true);
     }
 
     @Override
@@ -28,6 +29,6 @@ public class ValueTypeListProxyOperatorMapped extends ValueTypeListProxyBase<IVa
     @Override
     public IValue get(int index) throws EvaluationException {
         IValue value = listProxy.get(index);
-        return ValueHelpers.evaluateOperator(operator, value);
+        return evaluator.evaluate(value);
     }
 }
@@ -24,10 +24,12 @@ import org.cyclops.integrateddynamics.api.network.INetworkElementProvider;
 import org.cyclops.integrateddynamics.api.part.IPartContainer;
 import org.cyclops.integrateddynamics.api.part.IPartType;
 import org.cyclops.integrateddynamics.api.path.IPathElement;
+import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
 import org.cyclops.integrateddynamics.capability.cable.CableConfig;
 import org.cyclops.integrateddynamics.capability.cable.CableFakeableConfig;
 import org.cyclops.integrateddynamics.capability.facadeable.FacadeableConfig;
 import org.cyclops.integrateddynamics.capability.path.PathElementConfig;
+import org.cyclops.integrateddynamics.capability.path.SidedPathElement;
 import org.cyclops.integrateddynamics.core.network.event.NetworkInitializedEvent;
 import org.cyclops.integrateddynamics.item.ItemBlockCable;
 
@@ -186,9 +188,11 @@ public class CableHelpers {
                 sidesToUpdate.add(cableConnectionHit);
                 CableHelpers.updateConnectionsNeighbours(world, pos, sidesToUpdate);
 
-                // Reinit the networks for this block and the disconnected neighbour.
-                NetworkHelpers.initNetwork(world, pos, side);
-                NetworkHelpers.initNetwork(world, pos.offset(cableConnectionHit), side.getOpposite());
+                // Split the networks for this block and the disconnected neighbour.
+                List<ISidedPathElement> sidedPathElements = Lists.newArrayList();
+                addSidedPathElement(sidedPathElements, world, pos, side);
+                addSidedPathElement(sidedPathElements, world, pos.offset(cableConnectionHit), side.getOpposite());
+                NetworkHelpers.splitNetwork(sidedPathElements);
                 return true;
             } else if (cableConnectionHit == null) {
                 // Reconnect cable side
@@ -208,9 +212,8 @@ public class CableHelpers {
                     sidesToUpdate.add(side);
                     CableHelpers.updateConnectionsNeighbours(world, pos, sidesToUpdate);
 
-                    // Reinit the networks for this block and the connected neighbour.
-                    NetworkHelpers.initNetwork(world, pos, side);
-                    NetworkHelpers.initNetwork(world, neighbourPos, side.getOpposite());
+                    // Join the networks of this block and the connected neighbour.
+                    NetworkHelpers.joinNetwork(world, pos, side);
                 }
                 return true;
             }
@@ -221,7 +224,8 @@ public class CableHelpers {
 
     /**
      * This should be called when a cable is added.
-     * This method automatically notifies the neighbours and (re-)initializes the network if this cable carries one.
+     * This method automatically notifies the neighbours and adds this cable to the network of its neighbours,
+     * or initializes a new network if that is not possible.
      * This should in most cases only be called server-side.
      * @param world The world.
      * @param pos The position.
@@ -229,7 +233,7 @@ public class CableHelpers {
     public static void onCableAdded(World world, BlockPos pos) {
         CableHelpers.updateConnectionsNeighbours(world, pos, CableHelpers.ALL_SIDES);
         if(!world.isRemote) {
-            INetwork network = NetworkHelpers.initNetwork(world, pos, null);
+            INetwork network = NetworkHelpers.joinNetwork(world, pos, null);
             MinecraftForge.EVENT_BUS.post(new NetworkInitializedEvent(network, world, pos, null));
         }
     }
@@ -296,15 +300,23 @@ public class CableHelpers {
     public static boolean onCableRemoved(World world, BlockPos pos, Collection<EnumFacing> sides) {
         updateConnectionsNeighbours(world, pos, sides);
         if (!world.isRemote) {
-            // Reinit neighbouring networks.
+            // Split neighbouring networks.
+            List<ISidedPathElement> sidedPathElements = Lists.newArrayList();
             for(EnumFacing side : sides) {
-                BlockPos sidePos = pos.offset(side);
-                NetworkHelpers.initNetwork(world, sidePos, side.getOpposite());
+                addSidedPathElement(sidedPathElements, world, pos.offset(side), side.getOpposite());
             }
+            NetworkHelpers.splitNetwork(sidedPathElements);
         }
         return true;
     }
 
+    protected static void addSidedPathElement(List<ISidedPathElement> sidedPathElements, World world, BlockPos pos, EnumFacing side) {
+        IPathElement pathElement = getPathElement(world, pos, side);
+        if (pathElement != null) {
+            sidedPathElements.add(SidedPathElement.of(pathElement, side));
+        }
+    }
+
     /**
      * Remove a cable.
      * This will automatically handle sounds, drops,
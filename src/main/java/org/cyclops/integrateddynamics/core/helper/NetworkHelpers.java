@@ -6,6 +6,7 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
+import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.TileHelpers;
 import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
@@ -16,6 +17,7 @@ import org.cyclops.integrateddynamics.api.network.INetworkElement;
 import org.cyclops.integrateddynamics.api.network.INetworkElementProvider;
 import org.cyclops.integrateddynamics.api.network.IPartNetwork;
 import org.cyclops.integrateddynamics.api.path.IPathElement;
+import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
 import org.cyclops.integrateddynamics.capability.network.EnergyNetworkConfig;
 import org.cyclops.integrateddynamics.capability.network.NetworkCarrierConfig;
 import org.cyclops.integrateddynamics.capability.network.PartNetworkConfig;
@@ -26,6 +28,7 @@ import org.cyclops.integrateddynamics.core.network.Network;
 import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
 
 /**
  * Network helper methods.
@@ -90,6 +93,22 @@ public class NetworkHelpers {
                 ? network.getCapability(EnergyNetworkConfig.CAPABILITY) : null;
     }
 
+    /**
+     * Find the network that contains the given path element.
+     * This only looks at the networks that have path elements in the same chunk.
+     * @param sidedPathElement A sided path element.
+     * @return The network containing the path element, or null if no such network exists.
+     */
+    public static @Nullable INetwork getNetworkContaining(ISidedPathElement sidedPathElement) {
+        for (INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getChunkIndex()
+                .getNetworks(sidedPathElement.getPathElement().getPosition())) {
+            if (network.containsSidedPathElement(sidedPathElement)) {
+                return network;
+            }
+        }
+        return null;
+    }
+
     /**
      * Form a new network starting from the given position.
      * This position should have a {@link IPathElement} capability,
@@ -111,6 +130,47 @@ public class NetworkHelpers {
         return null;
     }
 
+    /**
+     * Add the path element at the given position to the networks it is connected to.
+     * If it is connected to a single network, it will simply be appended to it.
+     * If it connects multiple networks, the smaller networks will be merged into the largest one.
+     * If this can not be done incrementally, for example because a neighbour has no network yet,
+     * a new network will be formed as with {@link #initNetwork(World, BlockPos, EnumFacing)}.
+     * @param world The world.
+     * @param pos The position.
+     * @param side The side.
+     * @return The network the path element is now part of.
+     * Can be null if the position did not have a {@link IPathElement} capability.
+     */
+    public static @Nullable INetwork joinNetwork(World world, BlockPos pos, @Nullable EnumFacing side) {
+        IPathElement pathElement = TileHelpers.getCapability(world, pos, side, PathElementConfig.CAPABILITY);
+        if (pathElement != null) {
+            Network network = Network.joinNetworkSetup(SidedPathElement.of(pathElement, side));
+            if (network != null) {
+                return network;
+            }
+            return initNetwork(world, pos, side);
+        }
+        return null;
+    }
+
+    /**
+     * Split the network of the given path elements after a connection between them was removed.
+     * If the path elements are still connected to each other, nothing will happen.
+     * Otherwise, new networks are only formed for the parts that have become disconnected from the largest part.
+     * If this can not be done incrementally, for example because the path elements are not part of the same network,
+     * new networks will be formed for all path elements as with {@link #initNetwork(World, BlockPos, EnumFacing)}.
+     * @param sidedPathElements The path elements that were previously connected to each other.
+     */
+    public static void splitNetwork(Collection<ISidedPathElement> sidedPathElements) {
+        if (!Network.splitNetworkSetup(sidedPathElements)) {
+            for (ISidedPathElement sidedPathElement : sidedPathElements) {
+                DimPos position = sidedPathElement.getPathElement().getPosition();
+                initNetwork(position.getWorld(), position.getBlockPos(), sidedPathElement.getSide());
+            }
+        }
+    }
+
     /**
      * This MUST be called by blocks having the {@link INetworkElementProvider} capability in
      * when a neighbouring block is updated, more specifically when
@@ -165,25 +225,30 @@ public class NetworkHelpers {
      * Warning: this assumes unsided network carrier capabilities, for example full-block network elements.
      * @param world The world.
      * @param pos The position.
+     * @return If the network elements are part of a known network after this call.
      */
-    public static void revalidateNetworkElements(World world, BlockPos pos) {
+    public static boolean revalidateNetworkElements(World world, BlockPos pos) {
         INetworkCarrier networkCarrier = TileHelpers.getCapability(world, pos, NetworkCarrierConfig.CAPABILITY);
         IPathElement pathElement = TileHelpers.getCapability(world, pos, PathElementConfig.CAPABILITY);
-        if (networkCarrier != null && pathElement != null && networkCarrier.getNetwork() == null) {
+        if (networkCarrier != null && pathElement != null) {
+            if (networkCarrier.getNetwork() != null) {
+                // Elements that are invalidated while their network is known are revalidated by the network itself.
+                return true;
+            }
             INetworkElementProvider networkElementProvider = TileHelpers.getCapability(world, pos, NetworkElementProviderConfig.CAPABILITY);
             if (networkElementProvider != null) {
                 // Attempt to revalidate the network elements in this provider
-                for (INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworks()) {
-                    if (network.containsSidedPathElement(SidedPathElement.of(pathElement, null))) {
-                        // Revalidate all network elements
-                        for (INetworkElement networkElement : networkElementProvider.createNetworkElements(world, pos)) {
-                            networkElement.revalidate(network);
-                        }
-                        break; // No need to check the other networks anymore
+                INetwork network = getNetworkContaining(SidedPathElement.of(pathElement, null));
+                if (network != null) {
+                    // Revalidate all network elements
+                    for (INetworkElement networkElement : networkElementProvider.createNetworkElements(world, pos)) {
+                        networkElement.revalidate(network);
                     }
+                    return true;
                 }
             }
         }
+        return false;
     }
 
 }
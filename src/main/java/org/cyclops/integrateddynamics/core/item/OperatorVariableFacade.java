@@ -84,7 +84,7 @@ public class OperatorVariableFacade extends VariableFacadeBase implements IOpera
                         return null;
                     }
                 }
-                expression = new LazyExpression(getId(), operator, variables, network);
+                expression = new LazyExpression(getId(), operator, variables, network).link();
             }
             return expression;
         }
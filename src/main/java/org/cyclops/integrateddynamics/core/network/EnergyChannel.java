@@ -2,6 +2,7 @@ package org.cyclops.integrateddynamics.core.network;
 
 import net.minecraftforge.energy.IEnergyStorage;
 import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.network.IEnergyNetwork.FlowType;
 import org.cyclops.integrateddynamics.api.network.IPositionedAddonsNetwork;
 import org.cyclops.integrateddynamics.api.network.IPositionedAddonsNetwork.PrioritizedPartPos;
 
@@ -24,19 +25,37 @@ public class EnergyChannel implements IEnergyStorage {
             IEnergyStorage energyStorage = network.getEnergyStorage(partPos);
             if (energyStorage != null) {
                 network.disablePosition(partPos.getPartPos());
-                toAdd -= energyStorage.receiveEnergy(toAdd, simulate);
+                int transferred = energyStorage.receiveEnergy(toAdd, simulate);
                 network.enablePosition(partPos.getPartPos());
+                toAdd -= transferred;
+                if (!simulate) {
+                    network.onEnergyTransferred(partPos.getPartPos(), transferred);
+                }
             }
         }
         if (!simulate) {
             network.setPositionIterator(it, this.channel);
+            network.onEnergyFlow(this.channel, FlowType.INSERTED, energy - toAdd);
         }
         return energy - toAdd;
     }
 
     @Override
     public int extractEnergy(int energy, boolean simulate) {
-        energy = Math.min(energy, GeneralConfig.energyRateLimit);
+        int extracted = extractEnergyUnlimited(Math.min(energy, GeneralConfig.energyRateLimit), simulate);
+        if (!simulate) {
+            network.onEnergyFlow(this.channel, FlowType.EXTRACTED, extracted);
+        }
+        return extracted;
+    }
+
+    /**
+     * Extract energy from this channel without taking into account the network energy rate limit.
+     * @param energy The energy to extract.
+     * @param simulate If the extraction should be simulated.
+     * @return The extracted energy.
+     */
+    protected int extractEnergyUnlimited(int energy, boolean simulate) {
         int toConsume = energy;
         IPositionedAddonsNetwork.PositionsIterator it = network.getPositionIterator(this.channel);
         while (it.hasNext() && toConsume > 0) {
@@ -44,8 +63,12 @@ public class EnergyChannel implements IEnergyStorage {
             IEnergyStorage energyStorage = network.getEnergyStorage(partPos);
             if (energyStorage != null) {
                 network.disablePosition(partPos.getPartPos());
-                toConsume -= energyStorage.extractEnergy(toConsume, simulate);
+                int transferred = energyStorage.extractEnergy(toConsume, simulate);
                 network.enablePosition(partPos.getPartPos());
+                toConsume -= transferred;
+                if (!simulate) {
+                    network.onEnergyTransferred(partPos.getPartPos(), -transferred);
+                }
             }
         }
         if (!simulate) {
@@ -56,8 +79,11 @@ public class EnergyChannel implements IEnergyStorage {
 
     @Override
     public int getEnergyStored() {
+        if (network.canUseLedgers()) {
+            return network.getLedgerEnergyStored(this.channel);
+        }
         int energy = 0;
-        for(PrioritizedPartPos partPos : network.getPositions(this.channel)) {
+        for(PrioritizedPartPos partPos : network.getPositionsArray(this.channel)) {
             IEnergyStorage energyStorage = network.getEnergyStorage(partPos);
             if (energyStorage != null) {
                 network.disablePosition(partPos.getPartPos());
@@ -70,8 +96,11 @@ public class EnergyChannel implements IEnergyStorage {
 
     @Override
     public int getMaxEnergyStored() {
+        if (network.canUseLedgers()) {
+            return network.getLedgerMaxEnergyStored(this.channel);
+        }
         int maxEnergy = 0;
-        for(PrioritizedPartPos partPos : network.getPositions(this.channel)) {
+        for(PrioritizedPartPos partPos : network.getPositionsArray(this.channel)) {
             IEnergyStorage energyStorage = network.getEnergyStorage(partPos);
             if (energyStorage != null) {
                 network.disablePosition(partPos.getPartPos());
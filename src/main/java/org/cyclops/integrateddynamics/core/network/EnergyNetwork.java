@@ -1,21 +1,47 @@
 package org.cyclops.integrateddynamics.core.network;
 
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
 import lombok.Getter;
 import lombok.Setter;
+import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
+import net.minecraft.world.World;
 import net.minecraftforge.energy.IEnergyStorage;
+import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.network.IChanneledNetwork;
 import org.cyclops.integrateddynamics.api.network.IEnergyConsumingNetworkElement;
 import org.cyclops.integrateddynamics.api.network.IEnergyNetwork;
+import org.cyclops.integrateddynamics.api.network.IEnergyNetwork.FlowType;
 import org.cyclops.integrateddynamics.api.network.IFullNetworkListener;
 import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.cyclops.integrateddynamics.api.network.IPositionedNetworkElement;
 import org.cyclops.integrateddynamics.api.part.PartPos;
 import org.cyclops.integrateddynamics.api.path.IPathElement;
 import org.cyclops.integrateddynamics.core.helper.EnergyHelpers;
 
+import javax.annotation.Nullable;
+import java.util.Map;
+
 /**
  * A network that can hold energy.
+ *
+ * The stored and maximum energy of all positions is kept in a ledger per channel,
+ * which is updated on every energy transfer through this network,
+ * and is periodically reconciled with the actual energy storages.
+ *
+ * The energy flow of each channel is counted over a rolling window of one second and one minute.
+ *
+ * The consumption rates of all consuming network elements are summed per channel when they are added,
+ * and the rate of an element is refreshed each time it is updated or skipped.
+ * Elements that are invalidated or unscheduled do not consume energy, so their rate is zero until they are updated again.
  * @author rubensworks
  */
 public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNetwork, IFullNetworkListener {
@@ -23,12 +49,32 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
     @Getter
     @Setter
     private INetwork network;
+    private final Map<PartPos, PositionEnergy> positionEnergies = Maps.newHashMap();
+    // The energy positions indexed by their block position, so that the storages of an element can be found quickly.
+    private final Multimap<DimPos, PositionEnergy> blockPositionEnergies = HashMultimap.create();
+    private final TIntObjectMap<EnergyLedger> ledgers = new TIntObjectHashMap<>();
+    private final EnergyLedger totalLedger = new EnergyLedger();
+    private int ticksSinceReconciliation = 0;
+    private final TIntObjectMap<EnergyChannel> channels = new TIntObjectHashMap<>();
+    private final TIntObjectMap<RollingCounter[]> flows = new TIntObjectHashMap<>();
+    private final Map<INetworkElement, ElementConsumption> elementConsumptions = Maps.newTreeMap();
+    private final TIntIntMap channelConsumptionRates = new TIntIntHashMap();
+    private int consumptionRate = 0;
+
+    // The consumption settlements of the current network tick, per channel.
+    private final TIntObjectMap<Settlement> settlements = new TIntObjectHashMap<>();
+    private boolean settling = false;
 
     @Override
     public boolean addNetworkElement(INetworkElement element, boolean networkPreinit) {
         return true;
     }
 
+    @Override
+    public void addNetworkElementPost(INetworkElement element) {
+        addElementConsumption(element);
+    }
+
     @Override
     public boolean removeNetworkElementPre(INetworkElement element) {
         return true;
@@ -36,7 +82,57 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
 
     @Override
     public void removeNetworkElementPost(INetworkElement element) {
+        removeElementConsumption(element);
+    }
 
+    @Override
+    public void setPriorityAndChannelPre(INetworkElement element) {
+        removeElementConsumption(element);
+    }
+
+    @Override
+    public void setPriorityAndChannelPost(INetworkElement element) {
+        addElementConsumption(element);
+    }
+
+    protected void addElementConsumption(INetworkElement element) {
+        if (element instanceof IEnergyConsumingNetworkElement) {
+            ElementConsumption elementConsumption = new ElementConsumption(element.getChannel(),
+                    ((IEnergyConsumingNetworkElement) element).getConsumptionRate());
+            ElementConsumption oldElementConsumption = elementConsumptions.put(element, elementConsumption);
+            if (oldElementConsumption != null) {
+                adjustConsumptionRate(oldElementConsumption.channel, -oldElementConsumption.rate);
+            }
+            adjustConsumptionRate(elementConsumption.channel, elementConsumption.rate);
+        }
+    }
+
+    /**
+     * Update the known consumption rate of the given element,
+     * as the consumption rate of an element can change over time, for example when a variable is inserted.
+     * @param element The network element.
+     * @param rate The current consumption rate of the element, without the consumption multiplier.
+     */
+    protected void refreshElementConsumption(INetworkElement element, int rate) {
+        ElementConsumption elementConsumption = elementConsumptions.get(element);
+        if (elementConsumption != null && elementConsumption.rate != rate) {
+            adjustConsumptionRate(elementConsumption.channel, rate - elementConsumption.rate);
+            elementConsumption.rate = rate;
+        }
+    }
+
+    protected void removeElementConsumption(INetworkElement element) {
+        ElementConsumption elementConsumption = elementConsumptions.remove(element);
+        if (elementConsumption != null) {
+            adjustConsumptionRate(elementConsumption.channel, -elementConsumption.rate);
+        }
+    }
+
+    protected void adjustConsumptionRate(int channel, int amount) {
+        consumptionRate += amount;
+        if (channelConsumptionRates.adjustOrPutValue(channel, amount, amount) == 0) {
+            channelConsumptionRates.remove(channel);
+        }
     }
 
     @Override
@@ -46,7 +142,17 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
 
     @Override
     public void update() {
-
+        // Make sure that no settlement remains from a network tick that was interrupted.
+        settle();
+        flows.forEachValue(counters -> {
+            for (RollingCounter counter : counters) {
+                counter.tick();
+            }
+            return true;
+        });
+        if (++ticksSinceReconciliation >= GeneralConfig.energyLedgerReconciliationInterval) {
+            reconcileLedgers();
+        }
     }
 
     @Override
@@ -70,13 +176,95 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
         int multiplier = GeneralConfig.energyConsumptionMultiplier;
         if(multiplier == 0) return true;
         int consumptionRate = ((IEnergyConsumingNetworkElement) element).getConsumptionRate() * multiplier;
-        return getChannel(element.getChannel()).extractEnergy(consumptionRate, true) == consumptionRate;
+        if (consumptionRate > GeneralConfig.energyRateLimit) {
+            onEnergyFlow(element.getChannel(), FlowType.STARVED, 1);
+            return false;
+        }
+        int channel = element.getChannel();
+        Settlement settlement = startSettlement(channel);
+        if (consumptionRate > settlement.getRemaining() && settlement.consumed > 0) {
+            // Storages can limit the energy that is extracted in a single call,
+            // so the available energy is determined again once the consumption so far has been extracted.
+            settle(settlement);
+            settlement.simulate();
+        }
+        if (consumptionRate > settlement.getRemaining()) {
+            onEnergyFlow(channel, FlowType.STARVED, 1);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the consumption settlement for the given channel, and start it if there is none yet.
+     * If other channels have a settlement that can extract from the same storages, these are settled first,
+     * so that the same energy is never available to multiple channels.
+     * @param channel The channel id.
+     * @return The settlement.
+     */
+    protected Settlement startSettlement(int channel) {
+        Settlement settlement = settlements.get(channel);
+        if (settlement == null) {
+            if (!settlements.isEmpty()) {
+                for (int otherChannel : settlements.keys()) {
+                    if (channelsShareStorages(channel, otherChannel)) {
+                        settle(settlements.remove(otherChannel));
+                    }
+                }
+            }
+            settlement = new Settlement(channel);
+            settlement.simulate();
+            settlements.put(channel, settlement);
+        }
+        return settlement;
+    }
+
+    /**
+     * @param first A channel id.
+     * @param second Another channel id.
+     * @return If energy can be extracted from the same storages through the given channels.
+     */
+    protected boolean channelsShareStorages(int first, int second) {
+        return IChanneledNetwork.channelsMatch(first, second)
+                || hasChannelPositions(IChanneledNetwork.WILDCARD_CHANNEL);
+    }
+
+    /**
+     * Extract all consumed energy of all settlements from the batteries.
+     */
+    protected void settle() {
+        if (!settlements.isEmpty()) {
+            settlements.forEachValue(settlement -> {
+                settle(settlement);
+                return true;
+            });
+            settlements.clear();
+        }
+    }
+
+    /**
+     * Extract the consumed energy of the given settlement from the batteries.
+     * @param settlement The settlement.
+     */
+    protected void settle(Settlement settlement) {
+        if (settlement.consumed > 0) {
+            settling = true;
+            getEnergyChannel(settlement.channel).extractEnergyUnlimited(settlement.consumed, false);
+            settling = false;
+            settlement.consumed = 0;
+        }
+    }
+
+    @Override
+    public void postUpdateElements() {
+        settle();
     }
 
     @Override
     public void onSkipUpdate(INetworkElement element) {
         if(element instanceof IEnergyConsumingNetworkElement) {
             ((IEnergyConsumingNetworkElement) element).postUpdate(getNetwork(), false);
+            refreshElementConsumption(element, ((IEnergyConsumingNetworkElement) element).getConsumptionRate());
         }
     }
 
@@ -84,9 +272,18 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
     public void postUpdate(INetworkElement element) {
         if(element instanceof IEnergyConsumingNetworkElement) {
             int multiplier = GeneralConfig.energyConsumptionMultiplier;
+            int elementConsumptionRate = ((IEnergyConsumingNetworkElement) element).getConsumptionRate();
+            refreshElementConsumption(element, elementConsumptionRate);
             if (multiplier > 0) {
-                int consumptionRate = ((IEnergyConsumingNetworkElement) element).getConsumptionRate() * multiplier;
-                getChannel(element.getChannel()).extractEnergy(consumptionRate, false);
+                int consumptionRate = elementConsumptionRate * multiplier;
+                Settlement settlement = settlements.get(element.getChannel());
+                if (settlement != null) {
+                    settlement.consumed += consumptionRate;
+                } else {
+                    getEnergyChannel(element.getChannel()).extractEnergyUnlimited(
+                            Math.min(consumptionRate, GeneralConfig.energyRateLimit), false);
+                }
+                onEnergyFlow(element.getChannel(), FlowType.CONSUMED, consumptionRate);
             }
             ((IEnergyConsumingNetworkElement) element).postUpdate(getNetwork(), true);
         }
@@ -98,29 +295,377 @@ public class EnergyNetwork extends PositionedAddonsNetwork implements IEnergyNet
         return add;
     }
 
+    protected static int toIntSafe(long value) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, value));
+    }
+
     @Override
     public boolean addPosition(PartPos pos, int priority, int channel) {
-        IEnergyStorage energyStorage = EnergyHelpers.getEnergyStorage(pos);
-        return energyStorage != null && super.addPosition(pos, priority, channel);
+        IEnergyStorage energyStorage = getEnergyStorage(pos, null);
+        if (energyStorage != null && super.addPosition(pos, priority, channel)) {
+            PositionEnergy positionEnergy = new PositionEnergy(channel);
+            PositionEnergy oldPositionEnergy = positionEnergies.put(pos, positionEnergy);
+            if (oldPositionEnergy != null) {
+                blockPositionEnergies.remove(pos.getPos(), oldPositionEnergy);
+                getLedger(oldPositionEnergy.channel).remove(oldPositionEnergy);
+            }
+            blockPositionEnergies.put(pos.getPos(), positionEnergy);
+            positionEnergy.read(energyStorage);
+            getLedger(channel).add(positionEnergy);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void removePosition(PartPos pos) {
+        super.removePosition(pos);
+        PositionEnergy positionEnergy = positionEnergies.remove(pos);
+        if (positionEnergy != null) {
+            blockPositionEnergies.remove(pos.getPos(), positionEnergy);
+            getLedger(positionEnergy.channel).remove(positionEnergy);
+        }
+    }
+
+    protected EnergyLedger getLedger(int channel) {
+        EnergyLedger ledger = ledgers.get(channel);
+        if (ledger == null) {
+            ledger = new EnergyLedger();
+            ledgers.put(channel, ledger);
+        }
+        return ledger;
+    }
+
+    /**
+     * Register an energy transfer that was done to the storage at the given position.
+     * @param pos The position.
+     * @param amount The amount of energy that was added, negative if energy was removed.
+     */
+    protected void onEnergyTransferred(PartPos pos, int amount) {
+        PositionEnergy positionEnergy = positionEnergies.get(pos);
+        if (!settling && positionEnergy != null && !settlements.isEmpty()) {
+            // Energy was transferred during the settlement, for example by a network element that was being updated.
+            settlements.forEachEntry((channel, settlement) -> {
+                if (IChanneledNetwork.channelsMatch(positionEnergy.channel, channel)) {
+                    settlement.available = toIntSafe((long) settlement.available + amount);
+                }
+                return true;
+            });
+        }
+        if (positionEnergy != null && amount != 0) {
+            positionEnergy.stored += amount;
+            EnergyLedger ledger = getLedger(positionEnergy.channel);
+            ledger.stored += amount;
+            totalLedger.stored += amount;
+        }
+    }
+
+    /**
+     * Count the given energy flow in the given channel.
+     * @param channel The channel id.
+     * @param type The type of energy flow.
+     * @param amount The amount of energy, or the number of updates for {@link FlowType#STARVED}.
+     */
+    protected void onEnergyFlow(int channel, FlowType type, long amount) {
+        RollingCounter[] counters = flows.get(channel);
+        if (counters == null) {
+            counters = new RollingCounter[FlowType.values().length];
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = new RollingCounter();
+            }
+            flows.put(channel, counters);
+        }
+        counters[type.ordinal()].add(amount);
+    }
+
+    @Override
+    public long getEnergyFlow(int channel, FlowType type, boolean lastMinute) {
+        if (channel == IChanneledNetwork.WILDCARD_CHANNEL) {
+            long flow = 0;
+            for (RollingCounter[] counters : flows.valueCollection()) {
+                RollingCounter counter = counters[type.ordinal()];
+                flow += lastMinute ? counter.getLastMinute() : counter.getLastSecond();
+            }
+            return flow;
+        }
+        RollingCounter[] counters = flows.get(channel);
+        if (counters == null) {
+            return 0;
+        }
+        RollingCounter counter = counters[type.ordinal()];
+        return lastMinute ? counter.getLastMinute() : counter.getLastSecond();
+    }
+
+    @Override
+    public int[] getEnergyFlowChannels() {
+        return flows.keys();
+    }
+
+    /**
+     * Read the actual stored and maximum energy of all positions, and rebuild all ledgers.
+     */
+    public void reconcileLedgers() {
+        ticksSinceReconciliation = 0;
+        ledgers.forEachValue(ledger -> {
+            ledger.clear();
+            return true;
+        });
+        totalLedger.clear();
+        for (Map.Entry<PartPos, PositionEnergy> entry : positionEnergies.entrySet()) {
+            PositionEnergy positionEnergy = entry.getValue();
+            IEnergyStorage energyStorage = isPositionDisabled(entry.getKey()) ? null : getEnergyStorage(entry.getKey(), positionEnergy);
+            if (energyStorage != null) {
+                disablePosition(entry.getKey());
+                positionEnergy.read(energyStorage);
+                enablePosition(entry.getKey());
+            } else {
+                positionEnergy.stored = 0;
+                positionEnergy.maxStored = 0;
+            }
+            getLedger(positionEnergy.channel).add(positionEnergy);
+        }
+    }
+
+    /**
+     * @param channel The channel id.
+     * @return The stored energy in the given channel according to the ledgers.
+     */
+    protected int getLedgerEnergyStored(int channel) {
+        if (channel == IChanneledNetwork.WILDCARD_CHANNEL) {
+            return toIntSafe(totalLedger.stored);
+        }
+        return toIntSafe(getLedger(channel).stored + getLedger(IChanneledNetwork.WILDCARD_CHANNEL).stored);
+    }
+
+    /**
+     * @param channel The channel id.
+     * @return The maximum stored energy in the given channel according to the ledgers.
+     */
+    protected int getLedgerMaxEnergyStored(int channel) {
+        if (channel == IChanneledNetwork.WILDCARD_CHANNEL) {
+            return toIntSafe(totalLedger.maxStored);
+        }
+        return toIntSafe(getLedger(channel).maxStored + getLedger(IChanneledNetwork.WILDCARD_CHANNEL).maxStored);
+    }
+
+    /**
+     * If the ledgers can be used for energy queries.
+     * This is not the case when a position is disabled,
+     * because then the query is done from within a storage of this network.
+     * @return If the ledgers can be used.
+     */
+    protected boolean canUseLedgers() {
+        return !hasDisabledPositions();
     }
 
     @Override
     public int getConsumptionRate() {
-        int multiplier = GeneralConfig.energyConsumptionMultiplier;
-        if(multiplier == 0) return 0;
-        int consumption = 0;
-        for(INetworkElement element : getNetwork().getElements()) {
-            consumption += ((IEnergyConsumingNetworkElement) element).getConsumptionRate() * multiplier;
+        return consumptionRate * GeneralConfig.energyConsumptionMultiplier;
+    }
+
+    @Override
+    public int getConsumptionRate(int channel) {
+        if (channel == IChanneledNetwork.WILDCARD_CHANNEL) {
+            return getConsumptionRate();
         }
-        return consumption;
+        return channelConsumptionRates.get(channel) * GeneralConfig.energyConsumptionMultiplier;
     }
 
     protected IEnergyStorage getEnergyStorage(PrioritizedPartPos pos) {
-        return isPositionDisabled(pos.getPartPos()) ? null : EnergyHelpers.getEnergyStorage(pos.getPartPos());
+        if (isPositionDisabled(pos.getPartPos())) {
+            return null;
+        }
+        return getEnergyStorage(pos.getPartPos(), positionEnergies.get(pos.getPartPos()));
+    }
+
+    /**
+     * Get the energy storage at the given position.
+     * Storages are cached for as long as the tile entity that provides them is valid,
+     * so that storages of tiles that were broken or replaced are never used,
+     * also when the position does not belong to a network element, such as the target of a part.
+     * @param pos The position.
+     * @param positionEnergy The energy entry of the position, can be null if the position is unknown.
+     * @return The energy storage, or null if it is unavailable.
+     */
+    @Nullable
+    protected IEnergyStorage getEnergyStorage(PartPos pos, @Nullable PositionEnergy positionEnergy) {
+        if (positionEnergy == null) {
+            return EnergyHelpers.getEnergyStorage(pos);
+        }
+        if (positionEnergy.invalidated) {
+            return null;
+        }
+        if (positionEnergy.energyStorage != null && !positionEnergy.tile.isInvalid()) {
+            return positionEnergy.energyStorage;
+        }
+        IEnergyStorage energyStorage = EnergyHelpers.getEnergyStorage(pos);
+        positionEnergy.cache(pos, energyStorage);
+        return energyStorage;
+    }
+
+    @Override
+    public void onElementInvalidated(INetworkElement element) {
+        setEnergyStoragesInvalidated(element, true);
+        refreshElementConsumption(element, 0);
+    }
+
+    @Override
+    public void onElementRevalidated(INetworkElement element) {
+        setEnergyStoragesInvalidated(element, false);
+    }
+
+    @Override
+    public void onElementUnscheduled(INetworkElement element) {
+        refreshElementConsumption(element, 0);
+    }
+
+    /**
+     * Clear the cached energy storages at the position of the given element.
+     * @param element The network element.
+     * @param invalidated If the storages must not be resolved again until they are revalidated.
+     */
+    protected void setEnergyStoragesInvalidated(INetworkElement element, boolean invalidated) {
+        if (element instanceof IPositionedNetworkElement && !blockPositionEnergies.isEmpty()) {
+            for (PositionEnergy positionEnergy : blockPositionEnergies.get(((IPositionedNetworkElement) element).getPosition())) {
+                positionEnergy.clearCache();
+                positionEnergy.invalidated = invalidated;
+            }
+        }
     }
 
     @Override
     public IEnergyStorage getChannel(int channel) {
-        return new EnergyChannel(this, channel);
+        return getEnergyChannel(channel);
+    }
+
+    protected EnergyChannel getEnergyChannel(int channel) {
+        EnergyChannel energyChannel = channels.get(channel);
+        if (energyChannel == null) {
+            energyChannel = new EnergyChannel(this, channel);
+            channels.put(channel, energyChannel);
+        }
+        return energyChannel;
+    }
+
+    /**
+     * The last known energy of a single position.
+     */
+    protected static class PositionEnergy {
+
+        private final int channel;
+        private long stored;
+        private long maxStored;
+        private IEnergyStorage energyStorage = null;
+        private TileEntity tile = null;
+        private boolean invalidated = false;
+
+        public PositionEnergy(int channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Cache the given energy storage if it is provided by a tile entity,
+         * as only those can tell us when the storage becomes unavailable.
+         * @param pos The position of the storage.
+         * @param energyStorage The energy storage, can be null.
+         */
+        public void cache(PartPos pos, @Nullable IEnergyStorage energyStorage) {
+            clearCache();
+            if (energyStorage != null) {
+                World world = pos.getPos().getWorld();
+                TileEntity tile = world != null ? world.getTileEntity(pos.getPos().getBlockPos()) : null;
+                if (tile != null) {
+                    this.energyStorage = energyStorage;
+                    this.tile = tile;
+                }
+            }
+        }
+
+        public void clearCache() {
+            this.energyStorage = null;
+            this.tile = null;
+        }
+
+        public void read(IEnergyStorage energyStorage) {
+            this.stored = energyStorage.getEnergyStored();
+            this.maxStored = energyStorage.getMaxEnergyStored();
+        }
+
+    }
+
+    /**
+     * The consumption rate of a single network element, without the consumption multiplier.
+     */
+    protected static class ElementConsumption {
+
+        private final int channel;
+        private int rate;
+
+        public ElementConsumption(int channel, int rate) {
+            this.channel = channel;
+            this.rate = rate;
+        }
+
+    }
+
+    /**
+     * The consumption of network elements in a channel during a network tick,
+     * which is extracted from the batteries at once.
+     */
+    protected class Settlement {
+
+        private final int channel;
+        private int available;
+        private int consumed;
+
+        public Settlement(int channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Determine the energy that can be extracted from the batteries of this channel.
+         */
+        public void simulate() {
+            this.available = getEnergyChannel(channel).extractEnergyUnlimited(Integer.MAX_VALUE, true);
+        }
+
+        /**
+         * @return The energy that can still be consumed.
+         */
+        public int getRemaining() {
+            return available - consumed;
+        }
+
+    }
+
+    /**
+     * The sum of the last known energy of all positions in a channel.
+     */
+    protected class EnergyLedger {
+
+        private long stored;
+        private long maxStored;
+
+        public void add(PositionEnergy positionEnergy) {
+            this.stored += positionEnergy.stored;
+            this.maxStored += positionEnergy.maxStored;
+            if (this != totalLedger) {
+                totalLedger.add(positionEnergy);
+            }
+        }
+
+        public void remove(PositionEnergy positionEnergy) {
+            this.stored -= positionEnergy.stored;
+            this.maxStored -= positionEnergy.maxStored;
+            if (this != totalLedger) {
+                totalLedger.remove(positionEnergy);
+            }
+        }
+
+        public void clear() {
+            this.stored = 0;
+            this.maxStored = 0;
+        }
+
     }
 }
@@ -1,18 +1,18 @@
 package org.cyclops.integrateddynamics.core.network;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
-import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.CapabilityDispatcher;
 import org.apache.logging.log4j.Level;
 import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.TileHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
 import org.cyclops.integrateddynamics.api.PartStateException;
 import org.cyclops.integrateddynamics.api.network.AttachCapabilitiesEventNetwork;
@@ -23,8 +23,12 @@ import org.cyclops.integrateddynamics.api.network.INetworkCarrier;
 import org.cyclops.integrateddynamics.api.network.INetworkElement;
 import org.cyclops.integrateddynamics.api.network.INetworkElementProvider;
 import org.cyclops.integrateddynamics.api.network.INetworkEventListener;
+import org.cyclops.integrateddynamics.api.network.IPartNetworkElement;
+import org.cyclops.integrateddynamics.api.network.IPositionedNetworkElement;
+import org.cyclops.integrateddynamics.api.network.NetworkElementProfile;
 import org.cyclops.integrateddynamics.api.network.event.INetworkEvent;
 import org.cyclops.integrateddynamics.api.network.event.INetworkEventBus;
+import org.cyclops.integrateddynamics.api.part.PartPos;
 import org.cyclops.integrateddynamics.api.path.IPathElement;
 import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
 import org.cyclops.integrateddynamics.capability.network.NetworkCarrierConfig;
@@ -38,12 +42,15 @@ import org.cyclops.integrateddynamics.core.path.Cluster;
 import org.cyclops.integrateddynamics.core.path.PathFinder;
 import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
 
+import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.Function;
 
 /**
  * A network instance that can hold a set of {@link INetworkElement}s.
@@ -56,15 +63,31 @@ public class Network implements INetwork {
 
     private final INetworkEventBus eventBus = new NetworkEventBus();
     private final TreeSet<INetworkElement> elements = Sets.newTreeSet();
-    private TreeSet<INetworkElement> updateableElements = null;
-    private TreeMap<INetworkElement, Integer> updateableElementsTicks = null;
+    // The stored instances of all elements, by their identity, so that they can be found regardless of their priority.
+    // Elements are only equal if their priority is equal as well, and new instances may have a stale priority.
+    private final TreeMap<INetworkElement, INetworkElement> storedElements = new TreeMap<>(INetworkElement::compareIdentity);
+    // The elements that can not be updated concurrently with other networks.
+    private final TreeSet<INetworkElement> nonConcurrentElements = new TreeSet<>(INetworkElement::compareIdentity);
+    private NetworkElementScheduler updateableElements = null;
     private TreeSet<INetworkElement> invalidatedElements = Sets.newTreeSet();
+    // Elements that were invalidated during their update, while their chunk was still loaded.
+    private final TreeSet<INetworkElement> revalidationRetries = new TreeSet<>(INetworkElement::compareIdentity);
     private Map<INetworkElement, Long> lastSecondDurations = Maps.newHashMap();
+    private final RollingCounter deferredUpdates = new RollingCounter();
+    private final NetworkElementProfiler profiler = new NetworkElementProfiler();
 
-    private final CapabilityDispatcher capabilityDispatcher;
+    private CapabilityDispatcher capabilityDispatcher;
     private IFullNetworkListener[] fullNetworkListeners;
 
     private NBTTagCompound toRead = null;
+    // The path element positions of the network that still has to be read, once they have been indexed.
+    private List<DimPos> toReadPositions = null;
+    // The serialized capabilities while this network is hibernated, in which case it holds no network elements.
+    private NBTTagCompound hibernatedCapabilities = null;
+    // Path elements of which the network elements were not derived yet since waking up, because their chunk was not loaded.
+    private final Set<ISidedPathElement> underivedPathElements = Sets.newTreeSet();
+    private volatile boolean underivedChunkLoaded = false;
+    private boolean indexed = false;
     private volatile boolean changed = false;
     private volatile boolean killed = false;
 
@@ -113,9 +136,25 @@ public class Network implements INetwork {
         this.baseCluster = pathElements;
         this.capabilityDispatcher = gatherCapabilities();
         onConstruct();
+        indexPathElements();
         deriveNetworkElements(baseCluster);
     }
 
+    protected NetworkChunkIndex getChunkIndex() {
+        return NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getChunkIndex();
+    }
+
+    /**
+     * Register all path elements of this network in the chunk index.
+     */
+    protected void indexPathElements() {
+        NetworkChunkIndex chunkIndex = getChunkIndex();
+        for (ISidedPathElement sidedPathElement : baseCluster) {
+            chunkIndex.add(this, sidedPathElement.getPathElement().getPosition());
+        }
+        indexed = true;
+    }
+
     protected CapabilityDispatcher gatherCapabilities() {
         AttachCapabilitiesEventNetwork event = new AttachCapabilitiesEventNetwork(this);
         MinecraftForge.EVENT_BUS.post(event);
@@ -134,36 +173,209 @@ public class Network implements INetwork {
 
     }
 
+    /**
+     * Incrementally add the given path element to the networks it is connected to.
+     * If the path element is connected to a single network, it will simply be added to it.
+     * If it connects multiple networks, all smaller networks will be merged into the largest one,
+     * without re-deriving the network elements of that largest network.
+     * @param sidedPathElement The sided path element to add.
+     * @return The network the path element is now part of,
+     *         or null if this could not be done incrementally,
+     *         in which case {@link Network#initiateNetworkSetup(ISidedPathElement)} must be used.
+     */
+    @Nullable
+    public static Network joinNetworkSetup(ISidedPathElement sidedPathElement) {
+        return joinNetworkSetup(sidedPathElement, Network::getCarriedNetwork);
+    }
+
+    /**
+     * Incrementally add the given path element to the networks it is connected to.
+     * @param sidedPathElement The sided path element to add.
+     * @param carriedNetworks A function to obtain the network that is carried at a sided path element.
+     * @return The network the path element is now part of,
+     *         or null if this could not be done incrementally.
+     * @see Network#joinNetworkSetup(ISidedPathElement)
+     */
+    @Nullable
+    protected static Network joinNetworkSetup(ISidedPathElement sidedPathElement,
+                                              Function<ISidedPathElement, Network> carriedNetworks) {
+        Set<Network> networks = Sets.newIdentityHashSet();
+        Network ownNetwork = carriedNetworks.apply(sidedPathElement);
+        if (ownNetwork != null) {
+            if (!ownNetwork.canModifyIncrementally(sidedPathElement)) {
+                return null;
+            }
+            networks.add(ownNetwork);
+        }
+        for (ISidedPathElement neighbour : sidedPathElement.getPathElement().getReachableElements()) {
+            Network network = carriedNetworks.apply(neighbour);
+            if (network == null || !network.canModifyIncrementally(neighbour)) {
+                return null;
+            }
+            networks.add(network);
+        }
+        if (networks.isEmpty()) {
+            return null;
+        }
+
+        Network largestNetwork = null;
+        for (Network network : networks) {
+            if (largestNetwork == null || network.getCablesCount() > largestNetwork.getCablesCount()) {
+                largestNetwork = network;
+            }
+        }
+        for (Network network : networks) {
+            if (network != largestNetwork) {
+                largestNetwork.mergeNetwork(network);
+            }
+        }
+        if (ownNetwork == null) {
+            largestNetwork.addPathElements(Collections.singleton(sidedPathElement));
+        }
+        return largestNetwork;
+    }
+
+    /**
+     * Incrementally split the network of the given path elements after a connection between them was removed.
+     * It is first checked if the given path elements are still connected to each other,
+     * in which case nothing has to be done.
+     * Otherwise, new networks are formed for all parts that have become disconnected,
+     * except for the largest part, which remains in the existing network without re-deriving its network elements.
+     * @param sidedPathElements The path elements that were previously connected to each other.
+     * @return If the split could be done incrementally,
+     *         otherwise {@link Network#initiateNetworkSetup(ISidedPathElement)} must be used for all path elements.
+     */
+    public static boolean splitNetworkSetup(Collection<ISidedPathElement> sidedPathElements) {
+        Network network = null;
+        for (ISidedPathElement sidedPathElement : sidedPathElements) {
+            Network carriedNetwork = getCarriedNetwork(sidedPathElement);
+            if (carriedNetwork == null || (network != null && carriedNetwork != network)
+                    || !carriedNetwork.canModifyIncrementally(sidedPathElement)) {
+                return false;
+            }
+            network = carriedNetwork;
+        }
+        for (Cluster cluster : PathFinder.getDisconnectedClusters(sidedPathElements)) {
+            // This will move the path elements of the cluster out of the existing network.
+            Network splitNetwork = new Network(cluster);
+            NetworkWorldStorage.getInstance(IntegratedDynamics._instance).addNewNetwork(splitNetwork);
+            splitNetwork.initialize();
+        }
+        return true;
+    }
+
+    @Nullable
+    protected static Network getCarriedNetwork(ISidedPathElement sidedPathElement) {
+        INetworkCarrier networkCarrier = (INetworkCarrier) TileHelpers.getCapability(
+                sidedPathElement.getPathElement().getPosition(), sidedPathElement.getSide(), NetworkCarrierConfig.CAPABILITY);
+        INetwork network = networkCarrier != null ? networkCarrier.getNetwork() : null;
+        return network instanceof Network ? (Network) network : null;
+    }
+
+    /**
+     * @param sidedPathElement A sided path element.
+     * @return If this network contains the given path element,
+     *         and is in a state in which its path elements can be modified incrementally.
+     */
+    protected boolean canModifyIncrementally(ISidedPathElement sidedPathElement) {
+        return isInitialized() && !isKilled() && !isCrashed() && this.toRead == null
+                && containsSidedPathElement(sidedPathElement);
+    }
+
+    /**
+     * Move all path elements of the given network into this network.
+     * The given network will be killed afterwards.
+     * @param network The network to merge into this one.
+     */
+    protected void mergeNetwork(Network network) {
+        addPathElements(Lists.newArrayList(network.baseCluster));
+        network.killIfEmpty();
+    }
+
+    /**
+     * Add the given path elements to this network, and derive their network elements.
+     * This will not touch any of the network elements that were already present in this network.
+     * @param pathElements The path elements to add.
+     */
+    protected synchronized void addPathElements(Collection<ISidedPathElement> pathElements) {
+        List<INetworkElement> addedElements = Lists.newArrayList();
+        for (ISidedPathElement sidedPathElement : pathElements) {
+            if (baseCluster.add(sidedPathElement)) {
+                getChunkIndex().add(this, sidedPathElement.getPathElement().getPosition());
+                deriveNetworkElements(sidedPathElement, addedElements);
+            }
+        }
+        for (INetworkElement element : addedElements) {
+            element.afterNetworkAlive(this);
+            element.afterNetworkReAlive(this);
+        }
+        onNetworkChanged();
+    }
+
     private void deriveNetworkElements(Cluster pathElements) {
         if(!killIfEmpty()) {
             for (ISidedPathElement sidedPathElement : pathElements) {
-                World world = sidedPathElement.getPathElement().getPosition().getWorld();
-                BlockPos pos = sidedPathElement.getPathElement().getPosition().getBlockPos();
-                EnumFacing side = sidedPathElement.getSide();
-                INetworkCarrier networkCarrier = TileHelpers.getCapability(
-                        world, pos, side, NetworkCarrierConfig.CAPABILITY);
-                if (networkCarrier != null) {
-                    // Correctly remove any previously saved network in this carrier
-                    // and set the new network to this.
-                    INetwork network = networkCarrier.getNetwork();
-                    if (network != null) {
-                        network.removePathElement(sidedPathElement.getPathElement(), side);
-                    }
-                    networkCarrier.setNetwork(null);
-                    networkCarrier.setNetwork(this);
-                }
-                INetworkElementProvider networkElementProvider = TileHelpers.getCapability(
-                        world, pos, side, NetworkElementProviderConfig.CAPABILITY);
-                if (networkElementProvider != null) {
-                    for(INetworkElement element : networkElementProvider.createNetworkElements(world, pos)) {
-                        addNetworkElement(element, true);
-                    }
-                }
+                deriveNetworkElements(sidedPathElement, null);
             }
             onNetworkChanged();
         }
     }
 
+    /**
+     * Derive the network elements of the given path element.
+     * @param sidedPathElement The sided path element.
+     * @param addedElements The list to add the derived network elements to if the network is already initialized,
+     *                      or null if the network is still being initialized.
+     */
+    protected void deriveNetworkElements(ISidedPathElement sidedPathElement, @Nullable List<INetworkElement> addedElements) {
+        EnumFacing side = sidedPathElement.getSide();
+        INetworkCarrier networkCarrier = getNetworkCarrier(sidedPathElement.getPathElement(), side);
+        if (networkCarrier != null) {
+            // Correctly remove any previously saved network in this carrier
+            // and set the new network to this.
+            INetwork network = networkCarrier.getNetwork();
+            if (network != null && network != this) {
+                network.removePathElement(sidedPathElement.getPathElement(), side);
+            }
+            networkCarrier.setNetwork(null);
+            networkCarrier.setNetwork(this);
+        }
+        Collection<INetworkElement> networkElements = createNetworkElements(sidedPathElement.getPathElement(), side);
+        if (networkElements != null) {
+            for(INetworkElement element : networkElements) {
+                if (addNetworkElement(element, addedElements == null) && addedElements != null) {
+                    addedElements.add(element);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param pathElement A path element.
+     * @param side The side.
+     * @return The network carrier at the given path element, or null if it has none.
+     */
+    @Nullable
+    protected INetworkCarrier getNetworkCarrier(IPathElement pathElement, @Nullable EnumFacing side) {
+        return (INetworkCarrier) TileHelpers.getCapability(pathElement.getPosition(), side,
+                NetworkCarrierConfig.CAPABILITY);
+    }
+
+    /**
+     * @param pathElement A path element.
+     * @param side The side.
+     * @return The network elements provided at the given path element,
+     *         or null if it has no {@link INetworkElementProvider} capability.
+     */
+    @Nullable
+    protected Collection<INetworkElement> createNetworkElements(IPathElement pathElement, @Nullable EnumFacing side) {
+        DimPos position = pathElement.getPosition();
+        INetworkElementProvider networkElementProvider = (INetworkElementProvider) TileHelpers.getCapability(
+                position, side, NetworkElementProviderConfig.CAPABILITY);
+        return networkElementProvider != null
+                ? networkElementProvider.createNetworkElements(position.getWorld(), position.getBlockPos()) : null;
+    }
+
     @Override
     public boolean isInitialized() {
         return updateableElements != null;
@@ -188,10 +400,16 @@ public class Network implements INetwork {
 
     @Override
     public NBTTagCompound toNBT() {
+        if (this.toRead != null) {
+            // The network has not been read yet, so its serialized state is still up-to-date.
+            return this.toRead;
+        }
         NBTTagCompound tag = new NBTTagCompound();
         tag.setTag("baseCluster", this.baseCluster.toNBT());
         tag.setBoolean("crashed", this.crashed);
-        if (this.capabilityDispatcher != null) {
+        if (this.hibernatedCapabilities != null) {
+            tag.setTag("ForgeCaps", this.hibernatedCapabilities);
+        } else if (this.capabilityDispatcher != null) {
             tag.setTag("ForgeCaps", this.capabilityDispatcher.serializeNBT());
         }
         return tag;
@@ -207,6 +425,9 @@ public class Network implements INetwork {
 
     public void fromNBTEffective(NBTTagCompound tag) {
         this.baseCluster.fromNBT(tag.getCompoundTag("baseCluster"));
+        if (!indexed) {
+            indexPathElements();
+        }
         this.crashed = tag.getBoolean("crashed");
         if (this.capabilityDispatcher != null && tag.hasKey("ForgeCaps")) {
             this.capabilityDispatcher.deserializeNBT(tag.getCompoundTag("ForgeCaps"));
@@ -215,6 +436,93 @@ public class Network implements INetwork {
         initialize(true);
     }
 
+    /**
+     * Drop the live state of this network, so that only its cluster and the serialized state of its capabilities remain.
+     * The network elements are derived again from the cluster once this network is updated after being woken up.
+     * This must only be called when none of the chunks of this network are loaded.
+     * Networks that have not been read yet are left as is, as they only hold their serialized state.
+     */
+    public synchronized void hibernate() {
+        if (this.toRead != null || this.hibernatedCapabilities != null || killed) {
+            return;
+        }
+        this.hibernatedCapabilities = this.capabilityDispatcher != null
+                ? this.capabilityDispatcher.serializeNBT() : new NBTTagCompound();
+        for (INetworkElement element : elements) {
+            profiler.remove(element);
+        }
+        elements.clear();
+        storedElements.clear();
+        nonConcurrentElements.clear();
+        invalidatedElements.clear();
+        revalidationRetries.clear();
+        lastSecondDurations.clear();
+        underivedPathElements.clear();
+        updateableElements = null;
+        // The capabilities are created again, as they hold the state of the network elements.
+        this.capabilityDispatcher = gatherCapabilities();
+    }
+
+    /**
+     * Hibernate this network in the network storage, so that it is not updated anymore until it is woken up.
+     */
+    protected void hibernateInStorage() {
+        NetworkWorldStorage.getInstance(IntegratedDynamics._instance).hibernateNetwork(this);
+    }
+
+    /**
+     * @return If this network is hibernated, in which case it holds no network elements.
+     */
+    public boolean isHibernated() {
+        return this.hibernatedCapabilities != null;
+    }
+
+    /**
+     * Restore the capabilities of this hibernated network, and derive the network elements in loaded chunks.
+     * The network elements in other chunks are derived once their chunk is loaded,
+     * as deriving them would load their chunk.
+     */
+    protected void wakeUp() {
+        if (this.capabilityDispatcher != null) {
+            this.capabilityDispatcher.deserializeNBT(this.hibernatedCapabilities);
+        }
+        this.hibernatedCapabilities = null;
+        this.updateableElements = new NetworkElementScheduler();
+        underivedPathElements.addAll(baseCluster);
+        deriveLoadedPathElements();
+    }
+
+    /**
+     * Called when a chunk that contains path elements of this network was loaded.
+     * This may be called from another thread than the one that is updating this network.
+     */
+    public void onChunkLoaded() {
+        this.underivedChunkLoaded = true;
+    }
+
+    /**
+     * Derive the network elements of all underived path elements of which the chunk is loaded.
+     */
+    protected synchronized void deriveLoadedPathElements() {
+        if (underivedPathElements.isEmpty() || killed) {
+            return;
+        }
+        NetworkChunkIndex chunkIndex = getChunkIndex();
+        List<INetworkElement> addedElements = Lists.newArrayList();
+        for (ISidedPathElement sidedPathElement : Lists.newArrayList(underivedPathElements)) {
+            if (chunkIndex.isBlockLoaded(sidedPathElement.getPathElement().getPosition())) {
+                underivedPathElements.remove(sidedPathElement);
+                deriveNetworkElements(sidedPathElement, addedElements);
+            }
+        }
+        for (INetworkElement element : addedElements) {
+            element.afterNetworkReAlive(this);
+        }
+        if (!addedElements.isEmpty()) {
+            onNetworkChanged();
+        }
+    }
+
     @Override
     public synchronized boolean addNetworkElement(INetworkElement element, boolean networkPreinit) {
         for (IFullNetworkListener fullNetworkListener : this.fullNetworkListeners) {
@@ -225,10 +533,15 @@ public class Network implements INetwork {
 
         if(getEventBus().postCancelable(new NetworkElementAddEvent.Pre(this, element))) {
             elements.add(element);
+            storedElements.put(element, element);
             if (!element.onNetworkAddition(this)) {
                 elements.remove(element);
+                storedElements.remove(element);
                 return false;
             }
+            if (!element.isConcurrent()) {
+                nonConcurrentElements.add(element);
+            }
             if (!networkPreinit) {
                 addNetworkElementUpdateable(element);
             }
@@ -241,6 +554,9 @@ public class Network implements INetwork {
                     }
                 }
             }
+            for (IFullNetworkListener fullNetworkListener : this.fullNetworkListeners) {
+                fullNetworkListener.addNetworkElementPost(element);
+            }
             getEventBus().post(new NetworkElementAddEvent.Post(this, element));
             onNetworkChanged();
             return true;
@@ -250,14 +566,47 @@ public class Network implements INetwork {
 
     @Override
     public void addNetworkElementUpdateable(INetworkElement element) {
-        if(element.isUpdate()) {
-            updateableElements.add(element);
-            updateableElementsTicks.put(element, 0);
+        // Invalidated elements are only scheduled again once they are revalidated.
+        if(element.isUpdate() && !invalidatedElements.contains(element)) {
+            updateableElements.schedule(element, getUpdatePhase(element));
+        }
+    }
+
+    /**
+     * Get the number of ticks before the first update of the given element.
+     * This is derived from the element's position,
+     * so that elements with the same update interval are spread evenly over that interval,
+     * and every element keeps the same phase when the network is loaded again.
+     * @param element The network element.
+     * @return The update phase, between 0 (inclusive) and the update interval (exclusive).
+     */
+    protected static int getUpdatePhase(INetworkElement element) {
+        int interval = element.getUpdateInterval();
+        if (!GeneralConfig.spreadNetworkElementUpdates || interval <= 1) {
+            return 0;
+        }
+        long id;
+        if (element instanceof IPartNetworkElement) {
+            PartPos pos = ((IPartNetworkElement) element).getTarget().getCenter();
+            id = getPositionId(pos.getPos()) * 31 + pos.getSide().ordinal();
+        } else if (element instanceof IPositionedNetworkElement) {
+            id = getPositionId(((IPositionedNetworkElement) element).getPosition());
+        } else {
+            return 0;
         }
+        // Mix the bits, because neighbouring positions only differ in their lowest bits.
+        id *= 0x9E3779B97F4A7C15L;
+        id ^= id >>> 32;
+        return (int) Math.floorMod(id, (long) interval);
+    }
+
+    protected static long getPositionId(DimPos pos) {
+        return pos.getBlockPos().toLong() * 31 + pos.getDimensionId();
     }
 
     @Override
     public boolean removeNetworkElementPre(INetworkElement element) {
+        element = getStoredElementOrSelf(element);
         for (IFullNetworkListener fullNetworkListener : this.fullNetworkListeners) {
             if (!fullNetworkListener.removeNetworkElementPre(element)) {
                 return false;
@@ -268,27 +617,48 @@ public class Network implements INetwork {
 
     @Override
     public synchronized void setPriorityAndChannel(INetworkElement element, int priority, int channel) {
+        INetworkElement storedElement = getStoredElementOrSelf(element);
+        //noinspection deprecation
+        rekeyElement(storedElement, () -> storedElement.setPriorityAndChannel(this, priority, channel));
+    }
+
+    /**
+     * Apply a change to the given element that influences its ordering,
+     * such as a priority change.
+     * The element is removed from all sorted structures before the change, and added again afterwards.
+     * @param element The stored instance of a network element.
+     * @param change The change to apply.
+     */
+    protected void rekeyElement(INetworkElement element, Runnable change) {
+        boolean invalidated = invalidatedElements.remove(element);
         elements.remove(element);
-        Integer oldTickValue = null;
-        if (element.isUpdate()) {
-            updateableElements.remove(element);
-            oldTickValue = updateableElementsTicks.remove(element);
+        int remainingTicks = -1;
+        if (updateableElements != null) {
+            remainingTicks = updateableElements.remove(element);
         }
 
-        //noinspection deprecation
-        element.setPriorityAndChannel(this, priority, channel);
+        for (IFullNetworkListener fullNetworkListener : this.fullNetworkListeners) {
+            fullNetworkListener.setPriorityAndChannelPre(element);
+        }
 
+        change.run();
+
+        for (IFullNetworkListener fullNetworkListener : this.fullNetworkListeners) {
+            fullNetworkListener.setPriorityAndChannelPost(element);
+        }
         elements.add(element);
-        if (element.isUpdate()) {
-            updateableElements.add(element);
-            if (oldTickValue != null) {
-                updateableElementsTicks.put(element, oldTickValue);
-            }
+        if (invalidated) {
+            invalidatedElements.add(element);
+        }
+        if (element.isUpdate() && remainingTicks >= 0) {
+            // Make sure that a lowered update interval is taken into account immediately.
+            updateableElements.schedule(element, Math.min(remainingTicks, element.getUpdateInterval()));
         }
     }
 
     @Override
     public void removeNetworkElementPost(INetworkElement element) {
+        element = getStoredElementOrSelf(element);
         for (IFullNetworkListener fullNetworkListener : this.fullNetworkListeners) {
             fullNetworkListener.removeNetworkElementPost(element);
         }
@@ -301,8 +671,12 @@ public class Network implements INetwork {
         }
         element.beforeNetworkKill(this);
         element.onNetworkRemoval(this);
+        storedElements.remove(element);
+        nonConcurrentElements.remove(element);
         elements.remove(element);
         removeNetworkElementUpdateable(element);
+        profiler.remove(element);
+        revalidationRetries.remove(element);
         invalidatedElements.remove(element); // The element may be invalidated (like in an unloaded chunk) when it is being removed.
         getEventBus().post(new NetworkElementRemoveEvent.Post(this, element));
         onNetworkChanged();
@@ -310,8 +684,20 @@ public class Network implements INetwork {
 
     @Override
     public synchronized void removeNetworkElementUpdateable(INetworkElement element) {
-        updateableElements.remove(element);
-        updateableElementsTicks.remove(element);
+        INetworkElement storedElement = getStoredElementOrSelf(element);
+        if (updateableElements.remove(storedElement) >= 0) {
+            onElementUnscheduled(storedElement);
+        }
+    }
+
+    @Override
+    public synchronized void wakeNetworkElement(INetworkElement element) {
+        INetworkElement storedElement = getStoredElement(element);
+        if (updateableElements != null && storedElement != null && !invalidatedElements.contains(storedElement)) {
+            if (storedElement.isUpdate() && !updateableElements.contains(storedElement)) {
+                updateableElements.schedule(storedElement, getUpdatePhase(storedElement));
+            }
+        }
     }
 
     /**
@@ -319,8 +705,7 @@ public class Network implements INetwork {
      * @param silent If the element should not be notified for the network becoming alive.
      */
     protected void initialize(boolean silent) {
-        updateableElements = Sets.newTreeSet();
-        updateableElementsTicks = Maps.newTreeMap();
+        updateableElements = new NetworkElementScheduler();
         for(INetworkElement element : elements) {
             addNetworkElementUpdateable(element);
             if(!silent) {
@@ -338,6 +723,11 @@ public class Network implements INetwork {
         for(INetworkElement element : elements) {
             element.beforeNetworkKill(this);
         }
+        getChunkIndex().removeNetwork(this, Iterables.transform(baseCluster,
+                sidedPathElement -> sidedPathElement.getPathElement().getPosition()));
+        if (toReadPositions != null) {
+            getChunkIndex().removeNetwork(this, toReadPositions);
+        }
         killed = true;
     }
 
@@ -375,16 +765,72 @@ public class Network implements INetwork {
         }
     }
 
+    @Override
+    public void postUpdateElements() {
+        for (IFullNetworkListener fullNetworkListener : this.fullNetworkListeners) {
+            fullNetworkListener.postUpdateElements();
+        }
+    }
+
+    /**
+     * Check if this network can be updated concurrently with other networks.
+     * This is not the case if the network still has to be read, if it has path elements near unloaded chunks,
+     * as updating it could load chunks then,
+     * or if it has elements that access the world during their update.
+     * This must be called from the server thread.
+     * @return If this network can be updated concurrently.
+     */
+    public boolean canUpdateConcurrently() {
+        return this.toRead == null && this.hibernatedCapabilities == null && !killed
+                && hasOnlyConcurrentElements() && getChunkIndex().isFullyLoaded(this);
+    }
+
+    /**
+     * @return If all elements of this network can be updated concurrently with other networks.
+     * @see INetworkElement#isConcurrent()
+     */
+    public boolean hasOnlyConcurrentElements() {
+        return nonConcurrentElements.isEmpty();
+    }
+
     @Override
     public final synchronized void update() {
         if (this.toRead != null) {
+            if (this.toReadPositions == null) {
+                // Index the stored positions without resolving their path elements, as that would load their chunks.
+                this.toReadPositions = Cluster.getPositions(this.toRead.getCompoundTag("baseCluster"));
+                NetworkChunkIndex chunkIndex = getChunkIndex();
+                for (DimPos position : this.toReadPositions) {
+                    chunkIndex.add(this, position);
+                }
+            }
+            if (!this.toReadPositions.isEmpty() && !getChunkIndex().hasLoadedChunks(this, null)) {
+                // None of the chunks of this network are loaded, so it remains unread until one of them is loaded.
+                NetworkTickPhases.apply(this::hibernateInStorage);
+                return;
+            }
+            // The path elements are indexed again once they are read, as some of them may not be valid anymore.
+            getChunkIndex().removeNetwork(this, this.toReadPositions);
+            this.toReadPositions = null;
             this.fromNBTEffective(this.toRead);
             this.toRead = null;
         }
 
+        if (this.hibernatedCapabilities != null) {
+            wakeUp();
+        } else if (this.underivedChunkLoaded) {
+            this.underivedChunkLoaded = false;
+            // Deriving network elements reads the world, which is only allowed outside of the compute phase.
+            NetworkTickPhases.apply(this::deriveLoadedPathElements);
+        }
+
         this.changed = false;
-        if(killIfEmpty() || killed) {
-            NetworkWorldStorage.getInstance(IntegratedDynamics._instance).removeInvalidatedNetwork(this);
+        if(killed || baseCluster.isEmpty()) {
+            // Killing a network changes the chunk index and the network storage, so this is deferred to the apply phase.
+            NetworkTickPhases.apply(() -> {
+                killIfEmpty();
+                NetworkWorldStorage.getInstance(IntegratedDynamics._instance).removeInvalidatedNetwork(this);
+            });
         } else {
             onUpdate();
 
@@ -394,42 +840,87 @@ public class Network implements INetwork {
                 // Make sure we aren't using any unnecessary memory.
                 lastSecondDurations.clear();
             }
-            for (INetworkElement element : updateableElements) {
-                try {
-                    if (isValid(element)) {
+            int profilerInterval = GeneralConfig.networkElementProfilerInterval;
+            long deadline = NetworkTickBudget.beginNetwork();
+            boolean first = true;
+            deferredUpdates.tick();
+            updateableElements.beginTick();
+            try {
+                INetworkElement element;
+                // At least one element is updated in each tick, so that every network makes progress.
+                // Elements that do not fit in the tick budget are deferred before they can reserve any energy.
+                while ((first || !NetworkTickBudget.isExceeded(deadline))
+                        && (element = updateableElements.pollDue()) != null) {
+                    first = false;
+                    if (!isValid(element)) {
+                        // Invalidated elements will be rescheduled once they are revalidated.
+                        continue;
+                    }
+                    // By default, retry in the next tick
+                    int nextUpdate = 1;
+                    try {
+                        // Sample per element, so that sampling does not align with the update intervals of elements.
+                        boolean isSampled = profiler.countInvocation(element, profilerInterval);
+                        boolean isTimed = isBeingDiagnozed || isSampled;
                         long startTime = 0;
-                        if (isBeingDiagnozed) {
+                        if (isTimed) {
                             startTime = System.nanoTime();
                         }
-                        int lastElementTick = updateableElementsTicks.getOrDefault(element, 0);
                         if (canUpdate(element)) {
-                            if (lastElementTick <= 0) {
-                                updateableElementsTicks.put(element, element.getUpdateInterval() - 1);
-                                element.update(this);
-                                postUpdate(element);
-                            } else {
-                                updateableElementsTicks.put(element, lastElementTick - 1);
-                            }
+                            nextUpdate = Math.max(1, element.getUpdateInterval());
+                            element.update(this);
+                            postUpdate(element);
                         } else {
                             onSkipUpdate(element);
-                            updateableElementsTicks.put(element, lastElementTick - 1);
                         }
-                        if (isBeingDiagnozed) {
+                        if (isTimed) {
                             long duration = System.nanoTime() - startTime;
-                            Long lastDuration = lastSecondDurations.get(element);
-                            if (lastDuration != null) {
-                                duration = duration + lastDuration;
+                            if (isSampled) {
+                                profiler.record(element, duration);
+                            }
+                            if (isBeingDiagnozed) {
+                                Long lastDuration = lastSecondDurations.get(element);
+                                if (lastDuration != null) {
+                                    duration = duration + lastDuration;
+                                }
+                                lastSecondDurations.put(element, duration);
                             }
-                            lastSecondDurations.put(element, duration);
                         }
+                    } catch (PartStateException e) {
+                        IntegratedDynamics.clog(Level.WARN, "Attempted to tick a part that was not properly unloaded. " +
+                                "Report this to the Integrated Dynamics issue tracker with details on what you did " +
+                                "leading up to this stacktrace. The part was forcefully unloaded");
+                        e.printStackTrace();
+                        element.invalidate(this);
+                        // The tile of this element will not revalidate it, as it is still loaded.
+                        revalidationRetries.add(element);
+                    }
+                    updateableElements.reschedule(element, nextUpdate);
+                    if (!updateableElements.contains(element)) {
+                        // The element was removed from the schedule during its update, after which it was post-updated.
+                        onElementUnscheduled(element);
                     }
-                } catch (PartStateException e) {
-                    IntegratedDynamics.clog(Level.WARN, "Attempted to tick a part that was not properly unloaded. " +
-                            "Report this to the Integrated Dynamics issue tracker with details on what you did " +
-                            "leading up to this stacktrace. The part was forcefully unloaded");
-                    e.printStackTrace();
-                    element.invalidate(this);
                 }
+                postUpdateElements();
+                if (!revalidationRetries.isEmpty()) {
+                    NetworkTickPhases.apply(this::retryRevalidation);
+                }
+            } finally {
+                deferredUpdates.add(updateableElements.endTick());
+            }
+        }
+    }
+
+    /**
+     * Retry the revalidation of the elements that were invalidated during their update.
+     * Elements of which the chunk is not loaded anymore are revalidated once their tile is loaded again.
+     */
+    protected synchronized void retryRevalidation() {
+        List<INetworkElement> retries = Lists.newArrayList(revalidationRetries);
+        revalidationRetries.clear();
+        for (INetworkElement element : retries) {
+            if (!isValid(element) && element.canRevalidate(this)) {
+                element.revalidate(this);
             }
         }
     }
@@ -448,12 +939,11 @@ public class Network implements INetwork {
             }
         }
         if(baseCluster.remove(SidedPathElement.of(pathElement, null))) {
+            underivedPathElements.remove(SidedPathElement.of(pathElement, null));
             DimPos position = pathElement.getPosition();
-            INetworkElementProvider networkElementProvider = (INetworkElementProvider) TileHelpers.getCapability(
-                    position, side, NetworkElementProviderConfig.CAPABILITY);
-            if (networkElementProvider != null) {
-                Collection<INetworkElement> networkElements = networkElementProvider.
-                        createNetworkElements(position.getWorld(), position.getBlockPos());
+            getChunkIndex().remove(this, position);
+            Collection<INetworkElement> networkElements = createNetworkElements(pathElement, side);
+            if (networkElements != null) {
                 for (INetworkElement networkElement : networkElements) {
                     if(!removeNetworkElementPre(networkElement)) {
                         return false;
@@ -519,10 +1009,21 @@ public class Network implements INetwork {
 
     @Override
     public long getLastSecondDuration(INetworkElement networkElement) {
-        Long duration = lastSecondDurations.get(networkElement);
+        Long duration = lastSecondDurations.get(getStoredElementOrSelf(networkElement));
         return duration == null ? 0 : duration;
     }
 
+    @Nullable
+    @Override
+    public NetworkElementProfile getProfile(INetworkElement networkElement) {
+        return profiler.getProfile(getStoredElementOrSelf(networkElement));
+    }
+
+    @Override
+    public long getLastSecondDeferredUpdates() {
+        return deferredUpdates.getLastSecond();
+    }
+
     @Override
     public void resetLastSecondDurations() {
         lastSecondDurations.clear();
@@ -550,12 +1051,88 @@ public class Network implements INetwork {
 
     @Override
     public void invalidateElement(INetworkElement element) {
-        invalidatedElements.add(element);
+        if (isHibernated()) {
+            // The elements of unloading chunks are invalidated after their network was hibernated, which holds no elements.
+            return;
+        }
+        INetworkElement storedElement = getStoredElementOrSelf(element);
+        invalidatedElements.add(storedElement);
+        invalidateStoredElement(element);
+        onElementInvalidated(storedElement);
+        // Invalidated elements are not ticked until they are revalidated by a tile or chunk load,
+        // so we don't have to check their loaded state each tick.
+        if (updateableElements != null) {
+            updateableElements.remove(storedElement);
+        }
     }
 
     @Override
     public void revalidateElement(INetworkElement element) {
-        invalidatedElements.remove(element);
+        invalidateStoredElement(element);
+        INetworkElement storedElement = getStoredElement(element);
+        if (storedElement instanceof PartNetworkElement && ((PartNetworkElement) storedElement).hasStaleOrderingKey()) {
+            // The element was created while its part was not loaded, so it must be ordered by its actual priority now.
+            rekeyElement(storedElement, ((PartNetworkElement) storedElement)::refreshOrderingKey);
+        }
+        if (storedElement != null && invalidatedElements.remove(storedElement)
+                && storedElement.isUpdate() && updateableElements != null) {
+            // Elements that are revalidated together, such as all elements in a loaded chunk, stay spread.
+            updateableElements.schedule(storedElement, getUpdatePhase(storedElement));
+        }
+        onElementRevalidated(storedElement != null ? storedElement : element);
+    }
+
+    @Override
+    public void onElementInvalidated(INetworkElement element) {
+        for (IFullNetworkListener fullNetworkListener : this.fullNetworkListeners) {
+            fullNetworkListener.onElementInvalidated(element);
+        }
+    }
+
+    @Override
+    public void onElementRevalidated(INetworkElement element) {
+        for (IFullNetworkListener fullNetworkListener : this.fullNetworkListeners) {
+            fullNetworkListener.onElementRevalidated(element);
+        }
+    }
+
+    @Override
+    public void onElementUnscheduled(INetworkElement element) {
+        for (IFullNetworkListener fullNetworkListener : this.fullNetworkListeners) {
+            fullNetworkListener.onElementUnscheduled(element);
+        }
+    }
+
+    /**
+     * Get the instance of the given element that is stored in this network.
+     * @param element A network element.
+     * @return The stored element that is equal to the given element, or null if it is not present.
+     */
+    @Nullable
+    protected INetworkElement getStoredElement(INetworkElement element) {
+        return storedElements.get(element);
+    }
+
+    /**
+     * @param element A network element.
+     * @return The stored instance of the given element, or the given element if it is not present.
+     */
+    protected INetworkElement getStoredElementOrSelf(INetworkElement element) {
+        INetworkElement storedElement = getStoredElement(element);
+        return storedElement != null ? storedElement : element;
+    }
+
+    /**
+     * Make sure that the instance of the given element that is stored in this network
+     * does not hold on to any cached world references.
+     * This is needed because (in)validation is often called on a newly created instance of an element.
+     * @param element The network element.
+     */
+    protected void invalidateStoredElement(INetworkElement element) {
+        INetworkElement storedElement = getStoredElement(element);
+        if (storedElement != element && storedElement instanceof PartNetworkElement) {
+            ((PartNetworkElement) storedElement).invalidatePartContainer();
+        }
     }
 
     @Override
@@ -564,13 +1141,6 @@ public class Network implements INetwork {
     }
 
     protected boolean isValid(INetworkElement element) {
-        if (invalidatedElements.contains(element)) {
-            if (element.canRevalidate(this)) {
-                element.revalidate(this);
-                return true;
-            }
-            return false;
-        }
-        return true;
+        return !invalidatedElements.contains(element);
     }
 }
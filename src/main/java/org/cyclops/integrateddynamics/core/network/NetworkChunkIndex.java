@@ -0,0 +1,252 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.DimensionManager;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A spatial index from chunks to the networks that have path elements in them.
+ * This makes it possible to find the network at a certain position without iterating over all networks.
+ * @author rubensworks
+ */
+public class NetworkChunkIndex {
+
+    private final TIntObjectMap<TLongObjectMap<Map<INetwork, Integer>>> networks = new TIntObjectHashMap<>();
+    // The reverse index, from networks to the chunks they have path elements in, per dimension.
+    private final Map<INetwork, TIntObjectMap<TLongSet>> networkChunks = Maps.newIdentityHashMap();
+
+    protected static long getChunkKey(BlockPos pos) {
+        return ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+    }
+
+    /**
+     * Register a path element position of the given network.
+     * @param network The network.
+     * @param pos The path element position.
+     */
+    public synchronized void add(INetwork network, DimPos pos) {
+        TLongObjectMap<Map<INetwork, Integer>> dimensionNetworks = networks.get(pos.getDimensionId());
+        if (dimensionNetworks == null) {
+            dimensionNetworks = new TLongObjectHashMap<>();
+            networks.put(pos.getDimensionId(), dimensionNetworks);
+        }
+        long chunkKey = getChunkKey(pos.getBlockPos());
+        Map<INetwork, Integer> chunkNetworks = dimensionNetworks.get(chunkKey);
+        if (chunkNetworks == null) {
+            // Networks are compared by identity, as network equality is based on their elements.
+            chunkNetworks = Maps.newIdentityHashMap();
+            dimensionNetworks.put(chunkKey, chunkNetworks);
+        }
+        if (chunkNetworks.merge(network, 1, Integer::sum) == 1) {
+            TIntObjectMap<TLongSet> chunks = networkChunks.computeIfAbsent(network, n -> new TIntObjectHashMap<>());
+            TLongSet dimensionChunks = chunks.get(pos.getDimensionId());
+            if (dimensionChunks == null) {
+                dimensionChunks = new TLongHashSet();
+                chunks.put(pos.getDimensionId(), dimensionChunks);
+            }
+            dimensionChunks.add(chunkKey);
+        }
+    }
+
+    /**
+     * Unregister a path element position of the given network.
+     * @param network The network.
+     * @param pos The path element position.
+     */
+    public synchronized void remove(INetwork network, DimPos pos) {
+        TLongObjectMap<Map<INetwork, Integer>> dimensionNetworks = networks.get(pos.getDimensionId());
+        if (dimensionNetworks != null) {
+            long chunkKey = getChunkKey(pos.getBlockPos());
+            Map<INetwork, Integer> chunkNetworks = dimensionNetworks.get(chunkKey);
+            if (chunkNetworks != null) {
+                Integer count = chunkNetworks.get(network);
+                if (count != null) {
+                    if (count > 1) {
+                        chunkNetworks.put(network, count - 1);
+                    } else {
+                        removeNetwork(pos.getDimensionId(), dimensionNetworks, chunkKey, chunkNetworks, network);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Unregister the given network from the chunks of all given positions.
+     * This can safely be called multiple times for the same network.
+     * @param network The network.
+     * @param positions The path element positions of the network.
+     */
+    public synchronized void removeNetwork(INetwork network, Iterable<DimPos> positions) {
+        for (DimPos pos : positions) {
+            TLongObjectMap<Map<INetwork, Integer>> dimensionNetworks = networks.get(pos.getDimensionId());
+            if (dimensionNetworks != null) {
+                long chunkKey = getChunkKey(pos.getBlockPos());
+                Map<INetwork, Integer> chunkNetworks = dimensionNetworks.get(chunkKey);
+                if (chunkNetworks != null) {
+                    removeNetwork(pos.getDimensionId(), dimensionNetworks, chunkKey, chunkNetworks, network);
+                }
+            }
+        }
+    }
+
+    protected void removeNetwork(int dimension, TLongObjectMap<Map<INetwork, Integer>> dimensionNetworks, long chunkKey,
+                                 Map<INetwork, Integer> chunkNetworks, INetwork network) {
+        if (chunkNetworks.remove(network) != null) {
+            TIntObjectMap<TLongSet> chunks = networkChunks.get(network);
+            if (chunks != null) {
+                TLongSet dimensionChunks = chunks.get(dimension);
+                if (dimensionChunks != null) {
+                    dimensionChunks.remove(chunkKey);
+                    if (dimensionChunks.isEmpty()) {
+                        chunks.remove(dimension);
+                        if (chunks.isEmpty()) {
+                            networkChunks.remove(network);
+                        }
+                    }
+                }
+            }
+        }
+        if (chunkNetworks.isEmpty()) {
+            dimensionNetworks.remove(chunkKey);
+        }
+    }
+
+    /**
+     * Get all networks that have a path element in the chunk of the given position.
+     * @param pos A position.
+     * @return A copy of the networks in the chunk of the position, this may be empty.
+     */
+    public synchronized Collection<INetwork> getNetworks(DimPos pos) {
+        return getNetworks(pos.getDimensionId(), getChunkKey(pos.getBlockPos()));
+    }
+
+    /**
+     * Get all networks that have a path element in the given chunk.
+     * @param dimension The dimension id.
+     * @param chunkKey The chunk key, as created by {@link ChunkPos#asLong(int, int)}.
+     * @return A copy of the networks in the chunk, this may be empty.
+     */
+    public synchronized Collection<INetwork> getNetworks(int dimension, long chunkKey) {
+        TLongObjectMap<Map<INetwork, Integer>> dimensionNetworks = networks.get(dimension);
+        if (dimensionNetworks != null) {
+            Map<INetwork, Integer> chunkNetworks = dimensionNetworks.get(chunkKey);
+            if (chunkNetworks != null) {
+                return Lists.newArrayList(chunkNetworks.keySet());
+            }
+        }
+        return Collections.emptySet();
+    }
+
+    /**
+     * Check if any of the chunks the given network has path elements in is loaded.
+     * @param network The network.
+     * @param excludedChunk An optional chunk that must be considered unloaded,
+     *                      for example because it is being unloaded.
+     * @return If the network has a path element in a loaded chunk.
+     */
+    public boolean hasLoadedChunks(INetwork network, @Nullable Chunk excludedChunk) {
+        if (excludedChunk == null) {
+            return hasLoadedChunks(network, 0, null);
+        }
+        return hasLoadedChunks(network, excludedChunk.getWorld().provider.getDimension(), excludedChunk.getPos());
+    }
+
+    /**
+     * Check if any of the chunks the given network has path elements in is loaded.
+     * @param network The network.
+     * @param excludedDimension The dimension of the excluded chunk.
+     * @param excludedChunk An optional chunk that must be considered unloaded.
+     * @return If the network has a path element in a loaded chunk.
+     */
+    public synchronized boolean hasLoadedChunks(INetwork network, int excludedDimension, @Nullable ChunkPos excludedChunk) {
+        TIntObjectMap<TLongSet> chunks = networkChunks.get(network);
+        if (chunks != null) {
+            long excludedChunkKey = excludedChunk != null ? ChunkPos.asLong(excludedChunk.x, excludedChunk.z) : 0;
+            for (int dimension : chunks.keys()) {
+                boolean isExcludedDimension = excludedChunk != null && excludedDimension == dimension;
+                for (TLongIterator it = chunks.get(dimension).iterator(); it.hasNext();) {
+                    long chunkKey = it.next();
+                    if (!(isExcludedDimension && chunkKey == excludedChunkKey) && isChunkLoaded(dimension, chunkKey)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if all chunks the given network has path elements in are loaded, together with their neighbouring chunks.
+     * Neighbouring chunks are included, as parts can target blocks in the chunk next to their cable.
+     * @param network The network.
+     * @return If reading the blocks around the path elements of the network will not load any chunks.
+     */
+    public synchronized boolean isFullyLoaded(INetwork network) {
+        TIntObjectMap<TLongSet> chunks = networkChunks.get(network);
+        if (chunks != null) {
+            for (int dimension : chunks.keys()) {
+                for (TLongIterator it = chunks.get(dimension).iterator(); it.hasNext();) {
+                    long chunkKey = it.next();
+                    int chunkX = (int) chunkKey;
+                    int chunkZ = (int) (chunkKey >> 32);
+                    for (int dx = -1; dx <= 1; dx++) {
+                        for (int dz = -1; dz <= 1; dz++) {
+                            if (!isChunkLoaded(dimension, ChunkPos.asLong(chunkX + dx, chunkZ + dz))) {
+                                return false;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param pos A position.
+     * @return If the chunk of the given position is loaded.
+     */
+    public boolean isBlockLoaded(DimPos pos) {
+        BlockPos blockPos = pos.getBlockPos();
+        return isChunkLoaded(pos.getDimensionId(), ChunkPos.asLong(blockPos.getX() >> 4, blockPos.getZ() >> 4));
+    }
+
+    /**
+     * @param dimension The dimension id.
+     * @param chunkKey The chunk key, as created by {@link ChunkPos#asLong(int, int)}.
+     * @return If the given chunk is loaded, this is false if its dimension is not loaded.
+     */
+    protected boolean isChunkLoaded(int dimension, long chunkKey) {
+        World world = DimensionManager.getWorld(dimension);
+        // This does not use the chunk provider directly, as that would keep chunks that are queued for unloading loaded.
+        return world != null && world.isBlockLoaded(new BlockPos(((int) chunkKey) << 4, 0, ((int) (chunkKey >> 32)) << 4));
+    }
+
+    /**
+     * Remove all networks from this index.
+     */
+    public synchronized void clear() {
+        networks.clear();
+        networkChunks.clear();
+    }
+
+}
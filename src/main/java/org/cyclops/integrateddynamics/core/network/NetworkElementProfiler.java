@@ -0,0 +1,171 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.custom_hash.TObjectIntCustomHashMap;
+import gnu.trove.strategy.IdentityHashingStrategy;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.cyclops.integrateddynamics.api.network.NetworkElementProfile;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Keeps track of the update durations of the elements in a network.
+ *
+ * Each element gets a slot in a number of primitive arrays,
+ * which holds its invocation count, and a moving average, the maximum,
+ * the sample count and a histogram of its sampled update durations.
+ * Updates are sampled per element, once every given number of its invocations,
+ * so that elements are sampled independently of their update interval.
+ * The histogram buckets grow exponentially, which allows the 99th percentile to be estimated within a factor of two.
+ * Recording a duration does not allocate any memory once the element has a slot.
+ * Slots are looked up by element identity, so this only works with the stored instances of elements,
+ * and a change to the ordering of an element does not affect its slot.
+ * @author rubensworks
+ */
+public class NetworkElementProfiler {
+
+    /**
+     * The number of histogram buckets per element.
+     */
+    public static final int BUCKETS = 24;
+    /**
+     * The durations in the first bucket are below 2^MIN_SHIFT nanoseconds, each next bucket doubles this bound.
+     */
+    private static final int MIN_SHIFT = 8;
+    private static final double EWMA_ALPHA = 0.1D;
+    /**
+     * When a histogram reaches this number of samples, all its buckets are halved,
+     * so that old samples gradually lose their weight.
+     */
+    private static final int HISTOGRAM_AGING_THRESHOLD = 1 << 16;
+
+    private final TObjectIntMap<INetworkElement> slots = new TObjectIntCustomHashMap<>(
+            new IdentityHashingStrategy<>(), 16, 0.5F, -1);
+    private final TIntArrayList freeSlots = new TIntArrayList();
+    private int slotCount = 0;
+    private long[] invocations = new long[16];
+    private double[] averages = new double[16];
+    private long[] maxima = new long[16];
+    private long[] samples = new long[16];
+    private int[] histograms = new int[16 * BUCKETS];
+    private int[] histogramTotals = new int[16];
+
+    protected int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.removeAt(freeSlots.size() - 1);
+        }
+        int slot = slotCount++;
+        if (slot >= averages.length) {
+            int capacity = averages.length * 2;
+            invocations = Arrays.copyOf(invocations, capacity);
+            averages = Arrays.copyOf(averages, capacity);
+            maxima = Arrays.copyOf(maxima, capacity);
+            samples = Arrays.copyOf(samples, capacity);
+            histograms = Arrays.copyOf(histograms, capacity * BUCKETS);
+            histogramTotals = Arrays.copyOf(histogramTotals, capacity);
+        }
+        return slot;
+    }
+
+    protected static int getBucket(long durationNs) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(durationNs >>> MIN_SHIFT));
+    }
+
+    protected int getOrAllocateSlot(INetworkElement element) {
+        int slot = slots.get(element);
+        if (slot >= 0) {
+            return slot;
+        }
+        slot = allocateSlot();
+        slots.put(element, slot);
+        invocations[slot] = 0;
+        averages[slot] = 0;
+        maxima[slot] = 0;
+        samples[slot] = 0;
+        Arrays.fill(histograms, slot * BUCKETS, (slot + 1) * BUCKETS, 0);
+        histogramTotals[slot] = 0;
+        return slot;
+    }
+
+    /**
+     * Count an update invocation of the given element.
+     * @param element The network element.
+     * @param interval The number of invocations per sample, 0 or less disables profiling.
+     * @return If the duration of this invocation must be recorded using {@link #record(INetworkElement, long)}.
+     */
+    public boolean countInvocation(INetworkElement element, int interval) {
+        if (interval <= 0) {
+            return false;
+        }
+        int slot = getOrAllocateSlot(element);
+        return invocations[slot]++ % interval == 0;
+    }
+
+    /**
+     * Record an update duration of the given element.
+     * Elements that were removed during their update are ignored.
+     * @param element The network element.
+     * @param durationNs The update duration in nanoseconds.
+     */
+    public void record(INetworkElement element, long durationNs) {
+        int slot = slots.get(element);
+        if (slot < 0) {
+            return;
+        }
+        if (samples[slot] == 0) {
+            averages[slot] = durationNs;
+        } else {
+            averages[slot] += EWMA_ALPHA * (durationNs - averages[slot]);
+        }
+        maxima[slot] = Math.max(maxima[slot], durationNs);
+        samples[slot]++;
+        if (histogramTotals[slot] >= HISTOGRAM_AGING_THRESHOLD) {
+            int total = 0;
+            for (int i = slot * BUCKETS; i < (slot + 1) * BUCKETS; i++) {
+                histograms[i] >>= 1;
+                total += histograms[i];
+            }
+            histogramTotals[slot] = total;
+        }
+        histograms[slot * BUCKETS + getBucket(durationNs)]++;
+        histogramTotals[slot]++;
+    }
+
+    /**
+     * Forget the given element.
+     * @param element The network element.
+     */
+    public void remove(INetworkElement element) {
+        int slot = slots.remove(element);
+        if (slot >= 0) {
+            freeSlots.add(slot);
+        }
+    }
+
+    /**
+     * @param element The network element.
+     * @return The profile of the given element, or null if none of its updates were sampled.
+     */
+    @Nullable
+    public NetworkElementProfile getProfile(INetworkElement element) {
+        int slot = slots.get(element);
+        if (slot < 0 || samples[slot] == 0) {
+            return null;
+        }
+        return new NetworkElementProfile((long) averages[slot], maxima[slot], getP99(slot), samples[slot], invocations[slot]);
+    }
+
+    protected long getP99(int slot) {
+        int remaining = (histogramTotals[slot] + 99) / 100;
+        for (int bucket = BUCKETS - 1; bucket >= 0; bucket--) {
+            remaining -= histograms[slot * BUCKETS + bucket];
+            if (remaining <= 0) {
+                return bucket == BUCKETS - 1 ? maxima[slot] : 1L << (bucket + MIN_SHIFT);
+            }
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,234 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A hashed timing wheel that schedules the updates of network elements.
+ *
+ * Elements are stored in the bucket of the tick at which they are due,
+ * so that a network tick only has to visit the elements that must actually be updated.
+ * Elements that are due in the same tick are visited in their natural order,
+ * which means that network element priorities are respected within a tick.
+ *
+ * A tick is processed by calling {@link #beginTick()}, followed by calls to {@link #pollDue()}
+ * until it returns null, and finally {@link #endTick()}.
+ * Each polled element is removed from the scheduler,
+ * and must be rescheduled using {@link #reschedule(INetworkElement, int)} if it must be updated again later.
+ *
+ * Due elements that were not polled before the end of a tick are deferred,
+ * and will be polled first in the next tick, in the order in which they were due.
+ * Deferred elements that are removed are only dropped from the deferred queue once they are polled.
+ * @author rubensworks
+ */
+public class NetworkElementScheduler {
+
+    /**
+     * The number of buckets in the wheel, must be a power of two.
+     * Elements with an update interval larger than this will be visited once per wheel revolution.
+     */
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    @SuppressWarnings("unchecked")
+    private final TreeSet<INetworkElement>[] wheel = new TreeSet[WHEEL_SIZE];
+    private final TreeMap<INetworkElement, Long> dueTicks = Maps.newTreeMap();
+    private final ArrayDeque<DeferredElement> deferred = new ArrayDeque<>();
+    private int deferredCount = 0;
+
+    private long tick = 0;
+    private TreeSet<INetworkElement> processing = null;
+    private TreeSet<INetworkElement> spare = null;
+    private INetworkElement polled = null;
+
+    protected TreeSet<INetworkElement> getBucket(long tick) {
+        int index = (int) (tick & WHEEL_MASK);
+        TreeSet<INetworkElement> bucket = wheel[index];
+        if (bucket == null) {
+            bucket = Sets.newTreeSet();
+            wheel[index] = bucket;
+        }
+        return bucket;
+    }
+
+    /**
+     * @return The tick that is currently being processed, or the next tick to process if none is being processed.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return The earliest tick at which newly scheduled elements can still be updated.
+     */
+    protected long getNextSchedulableTick() {
+        return processing != null ? tick + 1 : tick;
+    }
+
+    /**
+     * Schedule the given element.
+     * If the element was already scheduled, its previous schedule will be overridden.
+     * @param element The network element.
+     * @param delay The number of ticks after which the element must be updated,
+     *              0 or less means as soon as possible.
+     */
+    public void schedule(INetworkElement element, int delay) {
+        remove(element);
+        long dueTick = Math.max(tick + delay, getNextSchedulableTick());
+        dueTicks.put(element, dueTick);
+        getBucket(dueTick).add(element);
+    }
+
+    /**
+     * Remove the given element from the scheduler.
+     * @param element The network element.
+     * @return The number of ticks that remained before the element would have been updated,
+     *         or -1 if the element was not scheduled.
+     */
+    public int remove(INetworkElement element) {
+        if (polled != null && polled.compareTo(element) == 0) {
+            polled = null;
+            return 0;
+        }
+        Long dueTick = dueTicks.remove(element);
+        if (dueTick == null) {
+            return -1;
+        }
+        TreeSet<INetworkElement> bucket = wheel[(int) (dueTick & WHEEL_MASK)];
+        if (bucket != null) {
+            bucket.remove(element);
+        }
+        if (processing != null) {
+            processing.remove(element);
+        }
+        if (dueTick < tick) {
+            // The entry in the deferred queue becomes stale, and is skipped when it is polled.
+            deferredCount--;
+        }
+        return (int) Math.max(0, dueTick - getNextSchedulableTick());
+    }
+
+    /**
+     * @param element The network element.
+     * @return If the given element is scheduled.
+     */
+    public boolean contains(INetworkElement element) {
+        return dueTicks.containsKey(element);
+    }
+
+    /**
+     * @return The number of scheduled elements.
+     */
+    public int size() {
+        return dueTicks.size();
+    }
+
+    /**
+     * Start processing the current tick.
+     */
+    public void beginTick() {
+        int index = (int) (tick & WHEEL_MASK);
+        processing = wheel[index];
+        wheel[index] = spare;
+        spare = null;
+        if (processing == null) {
+            processing = Sets.newTreeSet();
+        }
+    }
+
+    /**
+     * Take the next element that is due in the current tick.
+     * Deferred elements from previous ticks are taken first.
+     * Elements in the current bucket that are only due in a later wheel revolution are skipped.
+     * @return The next due element, or null if no more elements are due in this tick.
+     */
+    @Nullable
+    public INetworkElement pollDue() {
+        DeferredElement deferredElement;
+        while ((deferredElement = deferred.pollFirst()) != null) {
+            if (deferredElement.isScheduled()) {
+                deferredCount--;
+                dueTicks.remove(deferredElement.element);
+                polled = deferredElement.element;
+                return deferredElement.element;
+            }
+        }
+        INetworkElement element;
+        while ((element = processing.pollFirst()) != null) {
+            long dueTick = dueTicks.get(element);
+            if (dueTick <= tick) {
+                dueTicks.remove(element);
+                polled = element;
+                return element;
+            }
+            getBucket(dueTick).add(element);
+        }
+        return null;
+    }
+
+    /**
+     * Reschedule the last polled element.
+     * This will do nothing if the element was removed or scheduled in the meantime,
+     * for example when it was removed from the network during its update.
+     * @param element The last polled network element.
+     * @param delay The number of ticks after which the element must be updated again.
+     */
+    public void reschedule(INetworkElement element, int delay) {
+        if (polled == element) {
+            polled = null;
+            schedule(element, delay);
+        }
+    }
+
+    /**
+     * Finish processing the current tick and move to the next one.
+     * Due elements that were not polled are deferred to the next tick.
+     * @return The number of deferred elements.
+     */
+    public int endTick() {
+        polled = null;
+        tick++;
+        INetworkElement element;
+        while ((element = processing.pollFirst()) != null) {
+            long dueTick = dueTicks.get(element);
+            if (dueTick < tick) {
+                deferred.addLast(new DeferredElement(element, dueTick));
+                deferredCount++;
+            } else {
+                getBucket(dueTick).add(element);
+            }
+        }
+        spare = processing;
+        processing = null;
+        return deferredCount;
+    }
+
+    /**
+     * An entry in the deferred queue.
+     * It is stale if its element was removed or scheduled again after it was deferred,
+     * which always gives the element a different due tick.
+     */
+    private class DeferredElement {
+
+        private final INetworkElement element;
+        private final long dueTick;
+
+        private DeferredElement(INetworkElement element, long dueTick) {
+            this.element = element;
+            this.dueTick = dueTick;
+        }
+
+        private boolean isScheduled() {
+            Long scheduledDueTick = dueTicks.get(element);
+            return scheduledDueTick != null && scheduledDueTick == dueTick;
+        }
+
+    }
+
+}
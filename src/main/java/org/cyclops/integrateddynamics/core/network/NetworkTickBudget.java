@@ -0,0 +1,83 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import org.cyclops.integrateddynamics.GeneralConfig;
+
+/**
+ * Limits the time that networks may spend updating their elements in a single tick.
+ *
+ * A global budget is shared by all networks within a tick, and each network also has its own budget.
+ * Elements that do not fit in the budget are deferred to the next tick by the {@link NetworkElementScheduler}.
+ * @author rubensworks
+ */
+public final class NetworkTickBudget {
+
+    /**
+     * The deadline that indicates the absence of a budget.
+     */
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private static volatile long globalDeadline = UNLIMITED;
+
+    private NetworkTickBudget() {
+
+    }
+
+    /**
+     * @return If a global budget is enabled.
+     */
+    public static boolean hasGlobalBudget() {
+        return GeneralConfig.networkTickBudget > 0;
+    }
+
+    /**
+     * Start the global budget for the current tick.
+     */
+    public static void beginTick() {
+        globalDeadline = hasGlobalBudget() ? System.nanoTime() + GeneralConfig.networkTickBudget * 1000000L : UNLIMITED;
+    }
+
+    /**
+     * Stop the global budget of the current tick.
+     */
+    public static void endTick() {
+        globalDeadline = UNLIMITED;
+    }
+
+    /**
+     * Start the budget of a network that starts updating now.
+     * @return The time in nanoseconds at which the network must stop updating elements,
+     *         or {@link #UNLIMITED}.
+     */
+    public static long beginNetwork() {
+        long deadline = GeneralConfig.networkTickBudgetPerNetwork > 0
+                ? System.nanoTime() + GeneralConfig.networkTickBudgetPerNetwork * 1000000L : UNLIMITED;
+        return Math.min(deadline, globalDeadline);
+    }
+
+    /**
+     * @param deadline A deadline obtained from {@link #beginNetwork()}.
+     * @return If the given deadline has passed.
+     */
+    public static boolean isExceeded(long deadline) {
+        return deadline != UNLIMITED && System.nanoTime() >= deadline;
+    }
+
+    /**
+     * Rotate the given units over the given offset,
+     * so that each unit regularly gets to go first in a global budget.
+     * @param units The units to rotate.
+     * @param offset The offset, the unit at this index will become the first one.
+     * @param <T> The unit type.
+     * @return A new rotated array.
+     */
+    public static <T> T[] rotate(T[] units, int offset) {
+        T[] rotated = units.clone();
+        if (units.length > 0) {
+            offset = Math.floorMod(offset, units.length);
+            System.arraycopy(units, offset, rotated, 0, units.length - offset);
+            System.arraycopy(units, 0, rotated, units.length - offset, offset);
+        }
+        return rotated;
+    }
+
+}
@@ -0,0 +1,194 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Ticks networks in a compute phase, followed by an apply phase.
+ *
+ * During the compute phase, each network is updated in isolation, possibly in parallel.
+ * All world mutations that are passed to {@link #apply(Runnable)} during this phase
+ * are queued per network instead of being executed immediately.
+ * During the apply phase, these queued mutations are executed serially on the calling thread,
+ * in the order of the given networks.
+ * This means that the result of a tick does not depend on whether or not the compute phase ran in parallel,
+ * as long as units only mutate the world through {@link #apply(Runnable)}.
+ *
+ * Note that there is no snapshot of the world during the compute phase.
+ * So units that access the world while being computed, other than through {@link #apply(Runnable)},
+ * must be marked as not concurrent,
+ * so that they are computed on the calling thread while no other units are being computed.
+ * For networks, this means that only networks of which all elements do pure evaluation are computed in parallel,
+ * see {@link org.cyclops.integrateddynamics.api.network.INetworkElement#isConcurrent()}.
+ *
+ * Outside of the compute phase, {@link #apply(Runnable)} simply executes the given mutation.
+ * @author rubensworks
+ */
+public final class NetworkTickPhases {
+
+    private static final ThreadLocal<List<Runnable>> COMPUTING_MUTATIONS = new ThreadLocal<>();
+    private static ForkJoinPool POOL = null;
+
+    private NetworkTickPhases() {
+
+    }
+
+    protected static synchronized ForkJoinPool getPool() {
+        if (POOL == null) {
+            POOL = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        }
+        return POOL;
+    }
+
+    /**
+     * @return If a compute phase is running on the current thread.
+     */
+    public static boolean isComputing() {
+        return COMPUTING_MUTATIONS.get() != null;
+    }
+
+    /**
+     * Execute the given world mutation,
+     * or queue it until the apply phase if a compute phase is running on the current thread.
+     * @param mutation A world mutation.
+     */
+    public static void apply(Runnable mutation) {
+        List<Runnable> mutations = COMPUTING_MUTATIONS.get();
+        if (mutations != null) {
+            mutations.add(mutation);
+        } else {
+            mutation.run();
+        }
+    }
+
+    /**
+     * Run the compute phase for a single unit.
+     * @param unit The unit to compute.
+     * @param compute The compute action.
+     * @param mutations The list to queue the world mutations of this unit in.
+     * @param <T> The unit type.
+     * @return The error that occurred during computation, or null.
+     */
+    protected static <T> Throwable compute(T unit, Consumer<T> compute, List<Runnable> mutations) {
+        COMPUTING_MUTATIONS.set(mutations);
+        try {
+            compute.accept(unit);
+            return null;
+        } catch (Throwable e) {
+            return e;
+        } finally {
+            COMPUTING_MUTATIONS.remove();
+        }
+    }
+
+    /**
+     * Tick the given units in a compute phase, followed by an apply phase.
+     * All units may be computed concurrently.
+     * @param units The units to tick, such as networks.
+     * @param compute The compute action for a unit, this may be called from other threads.
+     * @param onError The error handler for a unit, this is always called from the calling thread.
+     * @param parallel If the compute phase may run in parallel.
+     * @param <T> The unit type.
+     * @see #tick(Object[], Consumer, Consumer, boolean, Predicate)
+     */
+    public static <T> void tick(T[] units, Consumer<T> compute, Consumer<T> onError, boolean parallel) {
+        tick(units, compute, onError, parallel, unit -> true);
+    }
+
+    /**
+     * Tick the given units in a compute phase, followed by an apply phase.
+     *
+     * Units that can not be computed concurrently, for example because they may load chunks,
+     * are computed first on the calling thread, before any other unit is computed in parallel.
+     *
+     * If the computation or the mutations of a unit fail, the error handler is called for that unit,
+     * and its remaining mutations are dropped.
+     * The mutations of all other units are still applied,
+     * after which the first error is rethrown.
+     * @param units The units to tick, such as networks.
+     * @param compute The compute action for a unit, this may be called from other threads.
+     * @param onError The error handler for a unit, this is always called from the calling thread.
+     * @param parallel If the compute phase may run in parallel.
+     * @param isConcurrent If a unit may be computed concurrently with other units,
+     *                     this is always called from the calling thread.
+     * @param <T> The unit type.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void tick(T[] units, Consumer<T> compute, Consumer<T> onError, boolean parallel,
+                                Predicate<T> isConcurrent) {
+        List<Runnable>[] mutations = new List[units.length];
+        Throwable[] errors = new Throwable[units.length];
+        for (int i = 0; i < units.length; i++) {
+            mutations[i] = Lists.newArrayList();
+        }
+
+        // Compute phase
+        if (parallel && units.length > 1) {
+            boolean[] concurrent = new boolean[units.length];
+            for (int i = 0; i < units.length; i++) {
+                concurrent[i] = isConcurrent.test(units[i]);
+                if (!concurrent[i]) {
+                    errors[i] = compute(units[i], compute, mutations[i]);
+                }
+            }
+            ForkJoinPool pool = getPool();
+            ForkJoinTask<?>[] tasks = new ForkJoinTask[units.length];
+            for (int i = 0; i < units.length; i++) {
+                if (concurrent[i]) {
+                    int index = i;
+                    tasks[i] = pool.submit(() -> {
+                        errors[index] = compute(units[index], compute, mutations[index]);
+                    });
+                }
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                if (task != null) {
+                    task.join();
+                }
+            }
+        } else {
+            for (int i = 0; i < units.length; i++) {
+                errors[i] = compute(units[i], compute, mutations[i]);
+            }
+        }
+
+        // Apply phase
+        Throwable firstError = null;
+        for (int i = 0; i < units.length; i++) {
+            Throwable error = errors[i];
+            try {
+                for (Runnable mutation : mutations[i]) {
+                    mutation.run();
+                }
+            } catch (Throwable e) {
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+            if (error != null) {
+                onError.accept(units[i]);
+                if (firstError == null) {
+                    firstError = error;
+                }
+            }
+        }
+        if (firstError != null) {
+            if (firstError instanceof Error) {
+                throw (Error) firstError;
+            }
+            if (firstError instanceof RuntimeException) {
+                throw (RuntimeException) firstError;
+            }
+            // Checked exceptions can still be thrown through sneaky throws within the compute action.
+            throw new RuntimeException(firstError);
+        }
+    }
+
+}
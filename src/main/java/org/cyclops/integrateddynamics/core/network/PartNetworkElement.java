@@ -1,6 +1,8 @@
 package org.cyclops.integrateddynamics.core.network;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 import net.minecraft.block.Block;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumFacing;
@@ -37,6 +39,10 @@ public class PartNetworkElement<P extends IPartType<P, S>, S extends IPartState<
     private final PartTarget target;
 
     private S tempState = null;
+    @Setter(AccessLevel.NONE)
+    private OrderingKey orderingKey = null;
+    @Setter(AccessLevel.NONE)
+    private IPartContainer partContainer = null;
 
     protected static DimPos getCenterPos(PartTarget target) {
         return target.getCenter().getPos();
@@ -56,13 +62,74 @@ public class PartNetworkElement<P extends IPartType<P, S>, S extends IPartState<
 
     @Override
     public IPartContainer getPartContainer() {
-        return PartHelpers.getPartContainer(getCenterPos(getTarget()), getTarget().getCenter().getSide());
+        if (partContainer == null) {
+            partContainer = PartHelpers.getPartContainer(getCenterPos(getTarget()), getTarget().getCenter().getSide());
+        }
+        return partContainer;
+    }
+
+    /**
+     * Clear the cached part container,
+     * so that it will be looked up again in the world the next time it is needed.
+     */
+    public void invalidatePartContainer() {
+        this.partContainer = null;
     }
 
     @Override
     public void setPriorityAndChannel(INetwork network, int priority, int channel) {
         //noinspection deprecation
         part.setPriorityAndChannel(network, NetworkHelpers.getPartNetwork(network), getTarget(), getPartState(), priority, channel);
+        this.orderingKey = createOrderingKey(priority);
+    }
+
+    /**
+     * Create a new ordering key for this element.
+     * @param priority The priority.
+     * @return A new ordering key.
+     */
+    protected OrderingKey createOrderingKey(int priority) {
+        DimPos pos = getCenterPos(getTarget());
+        return new OrderingKey(
+                getPart().getClass().getCanonicalName(),
+                priority,
+                getPart().getUnlocalizedName(),
+                pos.getDimensionId(),
+                pos.getBlockPos().toLong(),
+                getCenterSide(getTarget()).ordinal()
+        );
+    }
+
+    /**
+     * @return The cached ordering key of this element,
+     *         which will only be refreshed when the priority is changed via
+     *         {@link INetwork#setPriorityAndChannel(INetworkElement, int, int)},
+     *         or via {@link #refreshOrderingKey()} when the network re-keys this element.
+     */
+    public OrderingKey getOrderingKey() {
+        if (orderingKey == null) {
+            // If the part is not loaded, the default priority is used,
+            // because the priority depends on tile entity data, which requires loading the part/chunk.
+            orderingKey = createOrderingKey(getPriority());
+        }
+        return orderingKey;
+    }
+
+    /**
+     * @return If the part is loaded and its priority differs from the priority in the cached ordering key.
+     *         This is the case when this element was created while its part was not loaded.
+     */
+    public boolean hasStaleOrderingKey() {
+        return orderingKey != null && hasPartState() && getPriority() != orderingKey.priority;
+    }
+
+    /**
+     * Recreate the ordering key of this element based on its current priority.
+     * This must only be called while this element is not stored in any sorted structure.
+     */
+    public void refreshOrderingKey() {
+        this.orderingKey = null;
+        getOrderingKey();
     }
 
     @Override
@@ -80,8 +147,15 @@ public class PartNetworkElement<P extends IPartType<P, S>, S extends IPartState<
         return canRevalidatePositioned(network, getCenterPos(getTarget()));
     }
 
+    @Override
+    public void invalidate(INetwork network) {
+        invalidatePartContainer();
+        super.invalidate(network);
+    }
+
     @Override
     public void revalidate(INetwork network) {
+        invalidatePartContainer();
         super.revalidate(network);
         revalidatePositioned(network, getCenterPos(getTarget()));
     }
@@ -92,7 +166,8 @@ public class PartNetworkElement<P extends IPartType<P, S>, S extends IPartState<
     }
 
     public boolean hasPartState() {
-        if (isLoaded()) {
+        // A cached part container implies that the part is loaded, as it is cleared on invalidation.
+        if (this.partContainer != null || isLoaded()) {
             IPartContainer partContainer = getPartContainer();
             return partContainer != null && partContainer.hasPart(getCenterSide(getTarget()));
         }
@@ -134,6 +209,11 @@ public class PartNetworkElement<P extends IPartType<P, S>, S extends IPartState<
         part.update(network, NetworkHelpers.getPartNetwork(network), getTarget(), getPartState());
     }
 
+    @Override
+    public boolean isConcurrent() {
+        return part.isConcurrent();
+    }
+
     @Override
     public void beforeNetworkKill(INetwork network) {
         part.beforeNetworkKill(network, NetworkHelpers.getPartNetwork(network), target, getPartState());
@@ -192,20 +272,32 @@ public class PartNetworkElement<P extends IPartType<P, S>, S extends IPartState<
         return getPart();
     }
 
+    @Override
     public boolean equals(Object o) {
+        // This is consistent with compareTo, so instances with a different cached priority are not equal.
+        // Use compareIdentity to find instances of the same element regardless of their priority.
         return o instanceof IPartNetworkElement && compareTo((INetworkElement) o) == 0;
     }
 
     @Override
     public int hashCode() {
-        int result = part.hashCode();
-        result = 31 * result + target.hashCode();
-        result = 31 * result + getPriority();
-        return result;
+        // The priority is not included, so instances with a different cached priority are in the same hash bucket.
+        return getOrderingKey().hashCode();
+    }
+
+    @Override
+    public int compareIdentity(INetworkElement o) {
+        if(o instanceof PartNetworkElement) {
+            return getOrderingKey().compareIdentity(((PartNetworkElement) o).getOrderingKey());
+        }
+        return compareTo(o);
     }
 
     @Override
     public int compareTo(INetworkElement o) {
+        if(o instanceof PartNetworkElement) {
+            return getOrderingKey().compareTo(((PartNetworkElement) o).getOrderingKey());
+        }
         if(o instanceof IPartNetworkElement) {
             IPartNetworkElement p = (IPartNetworkElement) o;
             int compClass = this.getPart().getClass().getCanonicalName().compareTo(p.getPart().getClass().getCanonicalName());
@@ -255,4 +347,94 @@ public class PartNetworkElement<P extends IPartType<P, S>, S extends IPartState<
     public ResourceLocation getGroup() {
         return IPartNetworkElement.GROUP;
     }
+
+    /**
+     * An immutable key that determines the order of part network elements,
+     * so that they can be compared without accessing the world.
+     * Elements are ordered by part type class name, priority, part type name, dimension, packed position and side,
+     * so this order does not depend on the order in which part types are registered or loaded.
+     * The priority is the one that was known when the key was created,
+     * or the default priority if the part was not loaded at that time.
+     * Keys are equal if and only if they compare to 0, the hash code does not include the priority.
+     */
+    public static final class OrderingKey implements Comparable<OrderingKey> {
+
+        private final String partTypeClassName;
+        private final int priority;
+        private final String partTypeName;
+        private final int dimension;
+        private final long pos;
+        private final int side;
+
+        public OrderingKey(String partTypeClassName, int priority, String partTypeName,
+                           int dimension, long pos, int side) {
+            this.partTypeClassName = partTypeClassName;
+            this.priority = priority;
+            this.partTypeName = partTypeName;
+            this.dimension = dimension;
+            this.pos = pos;
+            this.side = side;
+        }
+
+        protected static int compareNames(String a, String b) {
+            // Keys of the same part type share their name instances.
+            return a == b ? 0 : a.compareTo(b);
+        }
+
+        @Override
+        public int compareTo(OrderingKey o) {
+            int comp = compareNames(this.partTypeClassName, o.partTypeClassName);
+            if (comp != 0) {
+                return comp;
+            }
+            comp = -Integer.compare(this.priority, o.priority);
+            if (comp != 0) {
+                return comp;
+            }
+            return compareIdentity(o);
+        }
+
+        /**
+         * Compare this key to another key, without taking into account the priority.
+         * @param o Another key.
+         * @return The comparison result.
+         */
+        public int compareIdentity(OrderingKey o) {
+            int comp = compareNames(this.partTypeClassName, o.partTypeClassName);
+            if (comp != 0) {
+                return comp;
+            }
+            comp = compareNames(this.partTypeName, o.partTypeName);
+            if (comp != 0) {
+                return comp;
+            }
+            comp = Integer.compare(this.dimension, o.dimension);
+            if (comp != 0) {
+                return comp;
+            }
+            // This orders by the packed block position, so by x, y and then z,
+            // where negative z coordinates come after positive ones because z is packed without its sign.
+            // This differs from the order of DimPos#compareTo that was used before ordering keys were cached.
+            comp = Long.compare(this.pos, o.pos);
+            if (comp != 0) {
+                return comp;
+            }
+            return Integer.compare(this.side, o.side);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof OrderingKey && compareTo((OrderingKey) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            // The priority is not included, as it can differ between instances of the same element.
+            int result = partTypeName.hashCode();
+            result = 31 * result + dimension;
+            result = 31 * result + Long.hashCode(pos);
+            result = 31 * result + side;
+            return result;
+        }
+    }
 }
@@ -1,11 +1,13 @@
 package org.cyclops.integrateddynamics.core.network;
 
-import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TObjectIntMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
 import lombok.Getter;
 import lombok.Setter;
 import org.cyclops.integrateddynamics.api.network.IChanneledNetwork;
@@ -14,13 +16,17 @@ import org.cyclops.integrateddynamics.api.network.IPositionedAddonsNetwork;
 import org.cyclops.integrateddynamics.api.part.PartPos;
 
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * A network that can hold prioritized positions.
+ *
+ * The priority-sorted positions of each channel, including the wildcard positions, are cached in arrays,
+ * which are only rebuilt after a position has been added or removed.
  * @author rubensworks
  */
 public class PositionedAddonsNetwork implements IPositionedAddonsNetwork {
@@ -29,8 +35,15 @@ public class PositionedAddonsNetwork implements IPositionedAddonsNetwork {
     @Setter
     private INetwork network;
     private final TIntObjectMap<Set<PrioritizedPartPos>> positions = new TIntObjectHashMap<>();
+    private final Map<PartPos, PrioritizedPartPos> prioritizedPositions = Maps.newHashMap();
+    private final TObjectIntMap<PartPos> positionChannels = new TObjectIntHashMap<>();
     private final Set<PartPos> disabledPositions = Sets.newHashSet();
 
+    private final TIntObjectMap<PrioritizedPartPos[]> channelPositionsCache = new TIntObjectHashMap<>();
+    private final TIntObjectMap<List<PrioritizedPartPos>> channelPositionsListCache = new TIntObjectHashMap<>();
+    private PrioritizedPartPos[] allPositionsCache = null;
+    private List<PrioritizedPartPos> allPositionsListCache = null;
+
     private final TIntObjectMap<PositionsIterator> positionsIterators = new TIntObjectHashMap<>();
     private final List<PositionsIterator> createdIterators = Lists.newLinkedList();
 
@@ -39,20 +52,81 @@ public class PositionedAddonsNetwork implements IPositionedAddonsNetwork {
         if (channel == IChanneledNetwork.WILDCARD_CHANNEL) {
             return getPositions();
         }
-        Set<PrioritizedPartPos> positions = this.positions.get(channel);
-        Set<PrioritizedPartPos> wildcardPositions = this.positions.get(IChanneledNetwork.WILDCARD_CHANNEL);
-        if (positions == null) positions = Collections.emptySet();
-        if (wildcardPositions == null) wildcardPositions = Collections.emptySet();
-        return ImmutableSet.copyOf(Iterables.concat(positions, wildcardPositions));
+        List<PrioritizedPartPos> positions = channelPositionsListCache.get(channel);
+        if (positions == null) {
+            positions = ImmutableList.copyOf(getPositionsArray(channel));
+            channelPositionsListCache.put(channel, positions);
+        }
+        return positions;
+    }
+
+    @Override
+    public int getPositionCount() {
+        return positionChannels.size();
     }
 
     @Override
     public Collection<PrioritizedPartPos> getPositions() {
-        List<PrioritizedPartPos> allPositions = Lists.newArrayList();
-        for (Set<PrioritizedPartPos> positions : this.positions.valueCollection()) {
-            allPositions.addAll(positions);
+        if (allPositionsListCache == null) {
+            allPositionsListCache = ImmutableList.copyOf(getPositionsArray(IChanneledNetwork.WILDCARD_CHANNEL));
         }
-        return allPositions;
+        return allPositionsListCache;
+    }
+
+    /**
+     * Get the positions in the given channel, including the positions in the wildcard channel.
+     * The returned array is shared, and must therefore never be modified.
+     * @param channel The channel id.
+     * @return The positions, sorted by priority.
+     */
+    public PrioritizedPartPos[] getPositionsArray(int channel) {
+        if (channel == IChanneledNetwork.WILDCARD_CHANNEL) {
+            if (allPositionsCache == null) {
+                List<PrioritizedPartPos> allPositions = Lists.newArrayList();
+                for (Set<PrioritizedPartPos> positions : this.positions.valueCollection()) {
+                    allPositions.addAll(positions);
+                }
+                allPositionsCache = toSortedArray(allPositions);
+            }
+            return allPositionsCache;
+        }
+        PrioritizedPartPos[] positionsArray = channelPositionsCache.get(channel);
+        if (positionsArray == null) {
+            List<PrioritizedPartPos> channelPositions = Lists.newArrayList();
+            Set<PrioritizedPartPos> positions = this.positions.get(channel);
+            if (positions != null) {
+                channelPositions.addAll(positions);
+            }
+            Set<PrioritizedPartPos> wildcardPositions = this.positions.get(IChanneledNetwork.WILDCARD_CHANNEL);
+            if (wildcardPositions != null) {
+                channelPositions.addAll(wildcardPositions);
+            }
+            positionsArray = toSortedArray(channelPositions);
+            channelPositionsCache.put(channel, positionsArray);
+        }
+        return positionsArray;
+    }
+
+    protected static PrioritizedPartPos[] toSortedArray(List<PrioritizedPartPos> positions) {
+        PrioritizedPartPos[] array = positions.toArray(new PrioritizedPartPos[positions.size()]);
+        Arrays.sort(array);
+        return array;
+    }
+
+    /**
+     * @param pos The position.
+     * @return The channel of the given position, or null if it is not present in this network.
+     */
+    @Nullable
+    public Integer getPositionChannel(PartPos pos) {
+        return positionChannels.containsKey(pos) ? positionChannels.get(pos) : null;
+    }
+
+    protected void invalidatePositionsCache() {
+        channelPositionsCache.clear();
+        channelPositionsListCache.clear();
+        allPositionsCache = null;
+        allPositionsListCache = null;
     }
 
     @Override
@@ -91,30 +165,66 @@ public class PositionedAddonsNetwork implements IPositionedAddonsNetwork {
 
     @Override
     public boolean addPosition(PartPos pos, int priority, int channel) {
+        PrioritizedPartPos oldPrioritizedPos = prioritizedPositions.get(pos);
+        if (oldPrioritizedPos != null) {
+            if (oldPrioritizedPos.getPriority() == priority && positionChannels.get(pos) == channel) {
+                return false;
+            }
+            // A position can only be present once, so the old one is replaced.
+            removePosition(pos);
+        }
         invalidateIterators();
+        invalidatePositionsCache();
 
         Set<PrioritizedPartPos> positions = this.positions.get(channel);
         if (positions == null) {
             positions = Sets.newTreeSet();
             this.positions.put(channel, positions);
         }
-        return positions.add(PrioritizedPartPos.of(pos, priority));
+        PrioritizedPartPos prioritizedPos = PrioritizedPartPos.of(pos, priority);
+        prioritizedPositions.put(pos, prioritizedPos);
+        positionChannels.put(pos, channel);
+        return positions.add(prioritizedPos);
     }
 
     @Override
     public void removePosition(PartPos pos) {
-        invalidateIterators();
-
-        for (Set<PrioritizedPartPos> positions : this.positions.valueCollection()) {
-            positions.removeIf(prioritizedPartPos -> prioritizedPartPos.getPartPos().equals(pos));
+        PrioritizedPartPos prioritizedPos = prioritizedPositions.remove(pos);
+        if (prioritizedPos != null) {
+            invalidateIterators();
+            invalidatePositionsCache();
+
+            int channel = positionChannels.remove(pos);
+            Set<PrioritizedPartPos> positions = this.positions.get(channel);
+            if (positions != null) {
+                positions.remove(prioritizedPos);
+                if (positions.isEmpty()) {
+                    this.positions.remove(channel);
+                }
+            }
         }
     }
 
+    /**
+     * @param channel The channel id.
+     * @return If positions were added to exactly the given channel, so without the positions of other channels.
+     */
+    protected boolean hasChannelPositions(int channel) {
+        return positions.containsKey(channel);
+    }
+
     @Override
     public boolean isPositionDisabled(PartPos pos) {
         return disabledPositions.contains(pos);
     }
 
+    /**
+     * @return If any position is currently disabled.
+     */
+    protected boolean hasDisabledPositions() {
+        return !disabledPositions.isEmpty();
+    }
+
     @Override
     public void disablePosition(PartPos pos) {
         disabledPositions.add(pos);
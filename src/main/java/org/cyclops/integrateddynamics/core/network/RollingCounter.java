@@ -0,0 +1,64 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+
+/**
+ * A counter that sums its values over a rolling window of one second and one minute.
+ *
+ * The one-second window is kept per tick, so it always contains exactly the last 20 ticks.
+ * The one-minute window is kept per second, so it contains the last 59 completed seconds
+ * and the ticks of the current second.
+ * The windows are moved by calling {@link #tick()} once per tick.
+ * @author rubensworks
+ */
+public class RollingCounter {
+
+    private static final int MINUTE_IN_SECONDS = 60;
+
+    private final long[] tickBuckets = new long[MinecraftHelpers.SECOND_IN_TICKS];
+    private final long[] secondBuckets = new long[MINUTE_IN_SECONDS];
+    private int tickIndex = 0;
+    private int secondIndex = 0;
+    private long lastSecond = 0;
+    private long lastMinute = 0;
+
+    /**
+     * Add the given value to the current tick.
+     * @param value The value to add.
+     */
+    public void add(long value) {
+        tickBuckets[tickIndex] += value;
+        secondBuckets[secondIndex] += value;
+        lastSecond += value;
+        lastMinute += value;
+    }
+
+    /**
+     * Move to the next tick, values that fall out of a window are dropped from that window.
+     */
+    public void tick() {
+        tickIndex = (tickIndex + 1) % tickBuckets.length;
+        lastSecond -= tickBuckets[tickIndex];
+        tickBuckets[tickIndex] = 0;
+        if (tickIndex == 0) {
+            secondIndex = (secondIndex + 1) % secondBuckets.length;
+            lastMinute -= secondBuckets[secondIndex];
+            secondBuckets[secondIndex] = 0;
+        }
+    }
+
+    /**
+     * @return The sum of all values in the last second.
+     */
+    public long getLastSecond() {
+        return lastSecond;
+    }
+
+    /**
+     * @return The sum of all values in the last minute.
+     */
+    public long getLastMinute() {
+        return lastMinute;
+    }
+
+}
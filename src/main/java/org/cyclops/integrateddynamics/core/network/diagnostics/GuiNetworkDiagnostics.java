@@ -13,6 +13,7 @@ import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.L10NHelpers;
 import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
+import org.cyclops.integrateddynamics.api.network.IEnergyNetwork;
 import org.cyclops.integrateddynamics.api.part.PartPos;
 import org.cyclops.integrateddynamics.network.packet.NetworkDiagnosticsSubscribePacket;
 import org.cyclops.integrateddynamics.network.packet.PlayerTeleportPacket;
@@ -28,6 +29,8 @@ import java.awt.event.WindowEvent;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
 
@@ -42,12 +45,18 @@ public class GuiNetworkDiagnostics extends JFrame {
     private static Vector<String> columnNames = new Vector<>();
     private static Vector<Vector<Object>> data = new Vector<>();
     private static DefaultTableModel model;
+    private static JTable energyTable = null;
+    private static Vector<String> energyColumnNames = new Vector<>();
+    private static Vector<Vector<Object>> energyData = new Vector<>();
+    private static DefaultTableModel energyModel;
 
     private static Multimap<Integer, ObservablePartData> networkData = ArrayListMultimap.create();
+    private static Multimap<Integer, RawEnergyChannelData> networkEnergyData = ArrayListMultimap.create();
 
     public static void setNetworkData(int id, RawNetworkData rawNetworkData) {
         synchronized (networkData) {
             Collection<ObservablePartData> previous = networkData.removeAll(id);
+            networkEnergyData.removeAll(id);
 
             // The positions that were being rendered previously
             Set<PartPos> previousPositionsWithRender = Sets.newHashSet();
@@ -62,10 +71,11 @@ public class GuiNetworkDiagnostics extends JFrame {
                 List<ObservablePartData> parts = Lists.newArrayList();
                 for (RawPartData rawPartData : rawNetworkData.getParts()) {
                     ObservablePartData partData = new ObservablePartData(
-                            rawNetworkData.getId(), rawNetworkData.getCables(),
+                            rawNetworkData.getId(), rawNetworkData.getCables(), rawNetworkData.getDeferredUpdates(),
                             rawPartData.getDimension(), rawPartData.getPos(),
                             rawPartData.getSide(), rawPartData.getName(),
-                            rawPartData.getLast20TicksDurationNs());
+                            rawPartData.getLast20TicksDurationNs(), rawPartData.getAverageDurationNs(),
+                            rawPartData.getP99DurationNs(), rawPartData.getMaxDurationNs());
                     parts.add(partData);
 
                     // Remove this position from the previously rendered list
@@ -82,6 +92,7 @@ public class GuiNetworkDiagnostics extends JFrame {
                 }
 
                 networkData.putAll(id, parts);
+                networkEnergyData.putAll(id, rawNetworkData.getEnergyChannels());
             }
         }
         if (gui != null) {
@@ -91,6 +102,7 @@ public class GuiNetworkDiagnostics extends JFrame {
 
     public static void clearNetworkData() {
         networkData.clear();
+        networkEnergyData.clear();
     }
 
     public static void start() {
@@ -122,8 +134,12 @@ public class GuiNetworkDiagnostics extends JFrame {
                         columnNames.clear();
                         columnNames.addElement(L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.network"));
                         columnNames.addElement(L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.cables"));
+                        columnNames.addElement(L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.deferred"));
                         columnNames.addElement(L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.part"));
                         columnNames.addElement(L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.ticktime"));
+                        columnNames.addElement(L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.ticktime.average"));
+                        columnNames.addElement(L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.ticktime.p99"));
+                        columnNames.addElement(L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.ticktime.max"));
                         columnNames.addElement(L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.dimension"));
                         columnNames.addElement(L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.position"));
                         columnNames.addElement(L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.side"));
@@ -135,8 +151,12 @@ public class GuiNetworkDiagnostics extends JFrame {
                             Vector<Object> row = new Vector<>();
                             row.add(observablePartData.getNetworkId());
                             row.add(observablePartData.getNetworkCables());
+                            row.add(observablePartData.getNetworkDeferredUpdates());
                             row.add(observablePartData.getName());
                             row.add(String.format("%.6f", ((double) observablePartData.getLast20TicksDurationNs()) / MinecraftHelpers.SECOND_IN_TICKS / 1000000));
+                            row.add(((double) observablePartData.getAverageDurationNs()) / 1000000);
+                            row.add(((double) observablePartData.getP99DurationNs()) / 1000000);
+                            row.add(((double) observablePartData.getMaxDurationNs()) / 1000000);
                             row.add(observablePartData.getDimension());
                             BlockPos pos = observablePartData.getPos();
                             row.add(String.format("%s / %s / %s", pos.getX(), pos.getY(), pos.getZ()));
@@ -152,12 +172,15 @@ public class GuiNetworkDiagnostics extends JFrame {
                                 public Class<?> getColumnClass(int column) {
                                     // My eyes are bleeding as I write this...
                                     // I'm terribly sorry, I must be going to hell now.
-                                    if (column == 0 || column == 1 || column == 4) {
+                                    if (column == 0 || column == 1 || column == 8) {
                                         return Integer.class;
                                     }
-                                    if (column == 3) {
+                                    if (column == 2 || column == 4) {
                                         return Long.class;
                                     }
+                                    if (column >= 5 && column <= 7) {
+                                        return Double.class;
+                                    }
                                     return String.class;
                                 }
                             };
@@ -209,11 +232,13 @@ public class GuiNetworkDiagnostics extends JFrame {
                                     }
                                 }
                             });
-                            add(new JScrollPane(table));
+                            updateEnergyTable();
+                            add(new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(table), new JScrollPane(energyTable)));
                             pack();
                         } else {
                             table.getRowSorter().allRowsChanged();
                             model.fireTableDataChanged();
+                            updateEnergyTable();
                         }
                         repaint();
                     }
@@ -224,6 +249,44 @@ public class GuiNetworkDiagnostics extends JFrame {
         }
     }
 
+    protected static void updateEnergyTable() {
+        energyColumnNames.clear();
+        energyColumnNames.addElement(L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.network"));
+        energyColumnNames.addElement(L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.channel"));
+        for (IEnergyNetwork.FlowType type : IEnergyNetwork.FlowType.values()) {
+            String name = L10NHelpers.localize("gui.integrateddynamics.diagnostics.table.energy." + type.name().toLowerCase(Locale.ENGLISH));
+            energyColumnNames.addElement(name + " (1s)");
+            energyColumnNames.addElement(name + " (1m)");
+        }
+
+        energyData.clear();
+        for (Map.Entry<Integer, RawEnergyChannelData> entry : networkEnergyData.entries()) {
+            Vector<Object> row = new Vector<>();
+            row.add(entry.getKey());
+            row.add(entry.getValue().getChannel());
+            for (IEnergyNetwork.FlowType type : IEnergyNetwork.FlowType.values()) {
+                row.add(entry.getValue().getLastSecond(type));
+                row.add(entry.getValue().getLastMinute(type));
+            }
+            energyData.addElement(row);
+        }
+
+        if (energyTable == null) {
+            energyTable = new JTable();
+            energyModel = new DefaultTableModel(energyData, energyColumnNames) {
+                @Override
+                public Class<?> getColumnClass(int column) {
+                    return column < 2 ? Integer.class : Long.class;
+                }
+            };
+            energyTable.setModel(energyModel);
+            energyTable.setAutoCreateRowSorter(true);
+        } else {
+            energyTable.getRowSorter().allRowsChanged();
+            energyModel.fireTableDataChanged();
+        }
+    }
+
     protected static ObservablePartData getPartDataFromRow(int row) {
         if (row < 0) {
             return null;
@@ -232,7 +295,7 @@ public class GuiNetworkDiagnostics extends JFrame {
         synchronized (networkData) {
             data = networkData.values().toArray();
         }
-        int internalId = (int) table.getModel().getValueAt(table.convertRowIndexToModel(row), 7);
+        int internalId = (int) table.getModel().getValueAt(table.convertRowIndexToModel(row), 11);
         if (internalId < data.length) {
             return (ObservablePartData) data[internalId];
         }
@@ -248,11 +311,15 @@ public class GuiNetworkDiagnostics extends JFrame {
     public static class ObservablePartData {
         private final int networkId;
         private final int networkCables;
+        private final long networkDeferredUpdates;
         private final int dimension;
         private final BlockPos pos;
         private final EnumFacing side;
         private final String name;
         private final long last20TicksDurationNs;
+        private final long averageDurationNs;
+        private final long p99DurationNs;
+        private final long maxDurationNs;
 
         public PartPos toPartPos() {
             World world = Minecraft.getMinecraft().world;
@@ -5,10 +5,13 @@ import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import org.cyclops.cyclopscore.helper.L10NHelpers;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
+import org.cyclops.integrateddynamics.api.network.IEnergyNetwork;
 import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.network.INetworkElement;
 import org.cyclops.integrateddynamics.api.network.IPartNetworkElement;
+import org.cyclops.integrateddynamics.api.network.NetworkElementProfile;
 import org.cyclops.integrateddynamics.api.part.PartPos;
+import org.cyclops.integrateddynamics.capability.network.EnergyNetworkConfig;
 import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
 import org.cyclops.integrateddynamics.network.packet.NetworkDiagnosticsNetworkPacket;
 
@@ -40,7 +43,7 @@ public class NetworkDiagnostics {
     public synchronized void registerPlayer(EntityPlayerMP player) {
         if (!players.contains(player.getPersistentID())) {
             players.add(player.getPersistentID());
-            for (INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworks()) {
+            for (INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworksSnapshot()) {
                 sendNetworkUpdateToPlayer(player, network);
             }
 
@@ -58,15 +61,27 @@ public class NetworkDiagnostics {
                 IPartNetworkElement partNetworkElement = (IPartNetworkElement) networkElement;
                 PartPos pos = partNetworkElement.getTarget().getCenter();
                 long lastSecondDurationNs = network.getLastSecondDuration(networkElement);
+                NetworkElementProfile profile = network.getProfile(networkElement);
                 rawParts.add(new RawPartData(pos.getPos().getDimensionId(),
                         pos.getPos().getBlockPos(), pos.getSide(),
                         L10NHelpers.localize(partNetworkElement.getPart().getUnlocalizedName()),
-                        lastSecondDurationNs));
+                        lastSecondDurationNs,
+                        profile != null ? profile.getAverageDurationNs() : 0,
+                        profile != null ? profile.getP99DurationNs() : 0,
+                        profile != null ? profile.getMaxDurationNs() : 0));
             } else {
                 // If needed, we can send the other part types later on as well
             }
         }
-        RawNetworkData rawNetworkData = new RawNetworkData(network.isKilled(), network.hashCode(), network.getCablesCount(), rawParts);
+        List<RawEnergyChannelData> rawEnergyChannels = Lists.newArrayList();
+        if (network.hasCapability(EnergyNetworkConfig.CAPABILITY)) {
+            IEnergyNetwork energyNetwork = network.getCapability(EnergyNetworkConfig.CAPABILITY);
+            for (int channel : energyNetwork.getEnergyFlowChannels()) {
+                rawEnergyChannels.add(RawEnergyChannelData.of(energyNetwork, channel));
+            }
+        }
+        RawNetworkData rawNetworkData = new RawNetworkData(network.isKilled(), network.hashCode(), network.getCablesCount(),
+                network.getLastSecondDeferredUpdates(), rawParts, rawEnergyChannels);
         IntegratedDynamics._instance.getPacketHandler().sendToPlayer(new NetworkDiagnosticsNetworkPacket(rawNetworkData.toNbt()), player);
     }
 
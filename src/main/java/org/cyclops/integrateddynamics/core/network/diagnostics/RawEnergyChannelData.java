@@ -0,0 +1,75 @@
+package org.cyclops.integrateddynamics.core.network.diagnostics;
+
+import lombok.Data;
+import net.minecraft.nbt.NBTTagCompound;
+import org.cyclops.integrateddynamics.api.network.IEnergyNetwork;
+
+import java.util.Locale;
+
+/**
+ * The energy flow of a single channel within a network.
+ * @author rubensworks
+ */
+@Data
+public class RawEnergyChannelData implements IRawData {
+
+    private final int channel;
+    /**
+     * The flow in the last second, indexed by {@link IEnergyNetwork.FlowType} ordinal.
+     */
+    private final long[] lastSecond;
+    /**
+     * The flow in the last minute, indexed by {@link IEnergyNetwork.FlowType} ordinal.
+     */
+    private final long[] lastMinute;
+
+    public static RawEnergyChannelData of(IEnergyNetwork energyNetwork, int channel) {
+        IEnergyNetwork.FlowType[] types = IEnergyNetwork.FlowType.values();
+        long[] lastSecond = new long[types.length];
+        long[] lastMinute = new long[types.length];
+        for (IEnergyNetwork.FlowType type : types) {
+            lastSecond[type.ordinal()] = energyNetwork.getEnergyFlow(channel, type, false);
+            lastMinute[type.ordinal()] = energyNetwork.getEnergyFlow(channel, type, true);
+        }
+        return new RawEnergyChannelData(channel, lastSecond, lastMinute);
+    }
+
+    public long getLastSecond(IEnergyNetwork.FlowType type) {
+        return lastSecond[type.ordinal()];
+    }
+
+    public long getLastMinute(IEnergyNetwork.FlowType type) {
+        return lastMinute[type.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Channel %s (inserted: %s/s; extracted: %s/s; consumed: %s/s; starved: %s/s)", channel,
+                getLastSecond(IEnergyNetwork.FlowType.INSERTED), getLastSecond(IEnergyNetwork.FlowType.EXTRACTED),
+                getLastSecond(IEnergyNetwork.FlowType.CONSUMED), getLastSecond(IEnergyNetwork.FlowType.STARVED));
+    }
+
+    public NBTTagCompound toNbt() {
+        NBTTagCompound tag = new NBTTagCompound();
+        tag.setInteger("channel", channel);
+        for (IEnergyNetwork.FlowType type : IEnergyNetwork.FlowType.values()) {
+            String name = type.name().toLowerCase(Locale.ENGLISH);
+            tag.setLong(name + "LastSecond", lastSecond[type.ordinal()]);
+            tag.setLong(name + "LastMinute", lastMinute[type.ordinal()]);
+        }
+        return tag;
+    }
+
+    public static RawEnergyChannelData fromNbt(NBTTagCompound tag) {
+        IEnergyNetwork.FlowType[] types = IEnergyNetwork.FlowType.values();
+        long[] lastSecond = new long[types.length];
+        long[] lastMinute = new long[types.length];
+        for (IEnergyNetwork.FlowType type : types) {
+            String name = type.name().toLowerCase(Locale.ENGLISH);
+            lastSecond[type.ordinal()] = tag.getLong(name + "LastSecond");
+            lastMinute[type.ordinal()] = tag.getLong(name + "LastMinute");
+        }
+        return new RawEnergyChannelData(tag.getInteger("channel"), lastSecond, lastMinute);
+    }
+
+}
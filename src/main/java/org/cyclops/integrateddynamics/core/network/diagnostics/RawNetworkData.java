@@ -17,7 +17,9 @@ public class RawNetworkData implements IRawData {
     private final boolean killed;
     private final int id;
     private final int cables;
+    private final long deferredUpdates;
     private final List<RawPartData> parts;
+    private final List<RawEnergyChannelData> energyChannels;
 
     @Override
     public String toString() {
@@ -29,11 +31,17 @@ public class RawNetworkData implements IRawData {
         tag.setBoolean("killed", killed);
         tag.setInteger("id", id);
         tag.setLong("cables", cables);
+        tag.setLong("deferredUpdates", deferredUpdates);
         NBTTagList list = new NBTTagList();
         for (RawPartData part : parts) {
             list.appendTag(part.toNbt());
         }
         tag.setTag("parts", list);
+        NBTTagList energyList = new NBTTagList();
+        for (RawEnergyChannelData energyChannel : energyChannels) {
+            energyList.appendTag(energyChannel.toNbt());
+        }
+        tag.setTag("energyChannels", energyList);
         return tag;
     }
 
@@ -44,8 +52,13 @@ public class RawNetworkData implements IRawData {
             NBTTagCompound partTag = list.getCompoundTagAt(i);
             parts.add(RawPartData.fromNbt(partTag));
         }
+        List<RawEnergyChannelData> energyChannels = Lists.newArrayList();
+        NBTTagList energyList = tag.getTagList("energyChannels", MinecraftHelpers.NBTTag_Types.NBTTagCompound.ordinal());
+        for (int i = 0; i < energyList.tagCount(); i++) {
+            energyChannels.add(RawEnergyChannelData.fromNbt(energyList.getCompoundTagAt(i)));
+        }
         return new RawNetworkData(tag.getBoolean("killed"), tag.getInteger("id"),
-                tag.getInteger("cables"), parts);
+                tag.getInteger("cables"), tag.getLong("deferredUpdates"), parts, energyChannels);
     }
 
 }
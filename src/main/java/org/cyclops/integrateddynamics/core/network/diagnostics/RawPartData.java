@@ -16,6 +16,9 @@ public class RawPartData implements IRawData {
     private final EnumFacing side;
     private final String name;
     private final long last20TicksDurationNs;
+    private final long averageDurationNs;
+    private final long p99DurationNs;
+    private final long maxDurationNs;
 
     @Override
     public String toString() {
@@ -29,12 +32,16 @@ public class RawPartData implements IRawData {
         tag.setInteger("side", side.ordinal());
         tag.setString("name", name);
         tag.setLong("last20TicksDurationNs", last20TicksDurationNs);
+        tag.setLong("averageDurationNs", averageDurationNs);
+        tag.setLong("p99DurationNs", p99DurationNs);
+        tag.setLong("maxDurationNs", maxDurationNs);
         return tag;
     }
 
     public static RawPartData fromNbt(NBTTagCompound tag) {
         return new RawPartData(tag.getInteger("dimension"), BlockPos.fromLong(tag.getLong("pos")),
-                EnumFacing.VALUES[tag.getInteger("side")], tag.getString("name"), tag.getLong("last20TicksDurationNs"));
+                EnumFacing.VALUES[tag.getInteger("side")], tag.getString("name"), tag.getLong("last20TicksDurationNs"),
+                tag.getLong("averageDurationNs"), tag.getLong("p99DurationNs"), tag.getLong("maxDurationNs"));
     }
 
 }
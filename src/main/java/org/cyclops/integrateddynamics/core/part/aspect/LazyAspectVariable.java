@@ -27,6 +27,8 @@ public abstract class LazyAspectVariable<V extends IValue> extends VariableAdapt
     @Getter private final IAspectRead<V, ?> aspect;
     @NonNull private V value;
     private IAspectProperties cachedProperties = null;
+    private boolean read = false;
+    private Runnable observationListener = null;
 
     public LazyAspectVariable(IValueType<V> type, PartTarget target, IAspectRead<V, ?> aspect) {
         this.type = type;
@@ -44,16 +46,71 @@ public abstract class LazyAspectVariable<V extends IValue> extends VariableAdapt
         super.invalidate();
         value = null;
         cachedProperties = null;
+        read = false;
     }
 
     @Override
     public V getValue() throws EvaluationException {
         if(value == null) {
+            if(observationListener != null) {
+                observationListener.run();
+            }
             this.value = getValueLazy();
         }
+        this.read = true;
         return this.value;
     }
 
+    /**
+     * @return If the value of this variable has been requested since it was last invalidated.
+     */
+    public boolean isObserved() {
+        return value != null;
+    }
+
+    /**
+     * @param observationListener A listener that is called when the value of this variable is requested
+     *                            while it is not being observed.
+     */
+    public void setObservationListener(Runnable observationListener) {
+        this.observationListener = observationListener;
+    }
+
+    @Override
+    protected boolean hasCachedValue() {
+        return value != null;
+    }
+
+    /**
+     * Recalculate the value of this variable, and only invalidate its dependents if the value has changed.
+     * If the current value was not requested since the last refresh,
+     * and none of the dependents still hold a value derived from it,
+     * this variable is simply invalidated, so that it will not be recalculated until it is requested again.
+     * If the value can not be recalculated, this variable is invalidated as well.
+     */
+    public void refresh() {
+        if(value == null) {
+            return;
+        }
+        if(!read && !hasCachedDependents()) {
+            invalidate();
+            return;
+        }
+        this.read = false;
+        this.cachedProperties = null;
+        V newValue;
+        try {
+            newValue = getValueLazy();
+        } catch (EvaluationException e) {
+            invalidate();
+            return;
+        }
+        if(!newValue.equals(value)) {
+            super.invalidate();
+            this.value = newValue;
+        }
+    }
+
     protected IAspectProperties getAspectProperties() {
         if(cachedProperties == null && getAspect().hasProperties()) {
             PartPos pos = getTarget().getCenter();
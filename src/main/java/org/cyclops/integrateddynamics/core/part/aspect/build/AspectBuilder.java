@@ -16,14 +16,17 @@ import org.cyclops.integrateddynamics.api.part.IPartType;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.api.part.aspect.AspectUpdateType;
 import org.cyclops.integrateddynamics.api.part.aspect.IAspectRead;
+import org.cyclops.integrateddynamics.api.part.aspect.IAspectVariable;
 import org.cyclops.integrateddynamics.api.part.aspect.IAspectWrite;
 import org.cyclops.integrateddynamics.api.part.aspect.property.IAspectProperties;
 import org.cyclops.integrateddynamics.api.part.write.IPartStateWriter;
 import org.cyclops.integrateddynamics.api.part.write.IPartTypeWriter;
 import org.cyclops.integrateddynamics.core.helper.Helpers;
+import org.cyclops.integrateddynamics.core.network.NetworkTickPhases;
 import org.cyclops.integrateddynamics.part.aspect.read.AspectReadBase;
 import org.cyclops.integrateddynamics.part.aspect.write.AspectWriteBase;
 
+import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -384,6 +387,11 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
             super.update(network, partType, target, state);
             this.afterUpdateListeners.forEach(l -> l.onUpdate(network, partType, target, state));
         }
+
+        @Override
+        public boolean canSkipUpdate(@Nullable IAspectVariable<V> variable) {
+            return beforeUpdateListeners.isEmpty() && afterUpdateListeners.isEmpty() && super.canSkipUpdate(variable);
+        }
     }
 
     private static class BuiltWriter<V extends IValue, T extends IValueType<V>> extends AspectWriteBase<V, T> {
@@ -447,9 +455,10 @@ public class AspectBuilder<V extends IValue, T extends IValueType<V>, O> {
 
         @Override
         public <P extends IPartType<P, S>, S extends IPartState<P>> void update(IPartNetwork network, P partType, PartTarget target, S state) {
-            this.beforeUpdateListeners.forEach(l -> l.onUpdate(network, partType, target, state));
+            // Listeners may change the world, so they are passed to the apply phase around the write.
+            NetworkTickPhases.apply(() -> this.beforeUpdateListeners.forEach(l -> l.onUpdate(network, partType, target, state)));
             super.update(network, partType, target, state);
-            this.afterUpdateListeners.forEach(l -> l.onUpdate(network, partType, target, state));
+            NetworkTickPhases.apply(() -> this.afterUpdateListeners.forEach(l -> l.onUpdate(network, partType, target, state)));
         }
     }
 
@@ -38,6 +38,7 @@ import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
 import org.cyclops.integrateddynamics.core.helper.L10NValues;
 import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
 import org.cyclops.integrateddynamics.core.helper.WrenchHelpers;
+import org.cyclops.integrateddynamics.core.network.NetworkTickPhases;
 import org.cyclops.integrateddynamics.core.network.event.NetworkElementAddEvent;
 import org.cyclops.integrateddynamics.core.network.event.VariableContentsUpdatedEvent;
 import org.cyclops.integrateddynamics.core.part.PartStateActiveVariableBase;
@@ -129,7 +130,9 @@ public abstract class PartTypePanelVariableDriven<P extends PartTypePanelVariabl
             }
         }
         if(!ValueHelpers.areValuesEqual(lastValue, newValue)) {
-            onValueChanged(network, partNetwork, target, state, lastValue, newValue);
+            // Handling the changed value may change the world, so only the evaluation happens in the compute phase.
+            IValue changedValue = newValue;
+            NetworkTickPhases.apply(() -> onValueChanged(network, partNetwork, target, state, lastValue, changedValue));
 
             // We can't call state.sendUpdate() here, so we must trigger a block update manually.
             // This was the cause of issue #46 which made it so that values that change after one tick are
@@ -144,10 +147,16 @@ public abstract class PartTypePanelVariableDriven<P extends PartTypePanelVariabl
             // tick-1: Part tick: update the value again, the old value has still not been sent here!
             // tick-1: -- send all block updates to client --- This will contain the value that was set in tick-1.
             state.onDirty();
-            BlockHelpers.markForUpdate(target.getCenter().getPos().getWorld(), target.getCenter().getPos().getBlockPos());
+            NetworkTickPhases.apply(() -> BlockHelpers.markForUpdate(target.getCenter().getPos().getWorld(),
+                    target.getCenter().getPos().getBlockPos()));
         }
     }
 
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+
     @Override
     public boolean hasActiveVariable(IPartNetwork network, PartTarget target, S partState) {
         return partState.hasVariable();
@@ -21,6 +21,7 @@ public class PartStateReaderBase<P extends IPartTypeReader>
         extends PartStateBase<P> implements IPartStateReader<P> {
 
     private final Map<IAspect, IAspectVariable> aspectVariables = new IdentityHashMap<>();
+    private volatile boolean sleeping = false;
 
     @SuppressWarnings("unchecked")
     @Override
@@ -38,6 +39,16 @@ public class PartStateReaderBase<P extends IPartTypeReader>
         this.aspectVariables.clear();
     }
 
+    @Override
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    @Override
+    public void setSleeping(boolean sleeping) {
+        this.sleeping = sleeping;
+    }
+
     @Override
     public void setAspectProperties(IAspect aspect, IAspectProperties properties) {
         super.setAspectProperties(aspect, properties);
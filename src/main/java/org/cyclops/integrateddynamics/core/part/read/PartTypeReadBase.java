@@ -8,6 +8,8 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.world.IBlockAccess;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.network.INetwork;
@@ -21,7 +23,10 @@ import org.cyclops.integrateddynamics.api.part.aspect.IAspectVariable;
 import org.cyclops.integrateddynamics.api.part.read.IPartStateReader;
 import org.cyclops.integrateddynamics.api.part.read.IPartTypeReader;
 import org.cyclops.integrateddynamics.client.gui.GuiPartReader;
+import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
+import org.cyclops.integrateddynamics.core.network.PartNetworkElement;
 import org.cyclops.integrateddynamics.core.part.PartTypeAspects;
+import org.cyclops.integrateddynamics.core.part.aspect.LazyAspectVariable;
 import org.cyclops.integrateddynamics.inventory.container.ContainerPartReader;
 import org.cyclops.integrateddynamics.part.aspect.Aspects;
 
@@ -75,22 +80,69 @@ public abstract class PartTypeReadBase<P extends IPartTypeReader<P, S>, S extend
         return IPartTypeReader.class;
     }
 
+    /**
+     * Update the given aspect, unless nobody is observing its value.
+     * @param aspect The aspect to update.
+     * @param partNetwork The part network.
+     * @param target The target.
+     * @param state The part state.
+     * @return If the aspect was updated.
+     */
+    protected boolean updateAspect(IAspectRead aspect, IPartNetwork partNetwork, PartTarget target, S state) {
+        if (GeneralConfig.demandDrivenReaders && aspect.canSkipUpdate(state.getVariable(aspect))) {
+            return false;
+        }
+        aspect.update(partNetwork, this, target, state);
+        return true;
+    }
+
     @Override
     public void update(INetwork network, IPartNetwork partNetwork, PartTarget target, S state) {
         super.update(network, partNetwork, target, state);
-        for(IAspect aspect : getUpdateAspects(AspectUpdateType.NETWORK_TICK)) {
-            aspect.update(partNetwork, this, target, state);
+        boolean observed = false;
+        for(IAspectRead aspect : getUpdateAspects(AspectUpdateType.NETWORK_TICK)) {
+            observed |= updateAspect(aspect, partNetwork, target, state);
         }
+        ReaderSleep.afterUpdate(network, new PartNetworkElement(this, target), state, observed);
+    }
+
+    @Override
+    public void afterNetworkReAlive(INetwork network, IPartNetwork partNetwork, PartTarget target, S state) {
+        super.afterNetworkReAlive(network, partNetwork, target, state);
+        ReaderSleep.afterNetworkReAlive(state);
     }
 
     @Override
     public void onBlockNeighborChange(INetwork network, IPartNetwork partNetwork, PartTarget target, S state, IBlockAccess world, Block neighborBlock) {
         super.onBlockNeighborChange(network, partNetwork, target, state, world, neighborBlock);
-        for(IAspect aspect : getUpdateAspects(AspectUpdateType.BLOCK_UPDATE)) {
-            aspect.update(partNetwork, this, target, state);
+        for(IAspectRead aspect : getUpdateAspects(AspectUpdateType.BLOCK_UPDATE)) {
+            updateAspect(aspect, partNetwork, target, state);
         }
     }
 
+    /**
+     * Called when the value of a variable of this reader is requested while it was not being observed.
+     * This can be called from within the compute phase of any network,
+     * so the reader is only woken up in the apply phase.
+     * @param target The target.
+     * @param state The part state.
+     */
+    protected void onAspectObserved(PartTarget target, S state) {
+        ReaderSleep.onAspectObserved(state, () -> wake(target, state));
+    }
+
+    /**
+     * Schedule this reader in its network again if it is sleeping.
+     * @param target The target.
+     * @param state The part state.
+     */
+    protected void wake(PartTarget target, S state) {
+        DimPos pos = target.getCenter().getPos();
+        ReaderSleep.wake(state,
+                () -> NetworkHelpers.getNetwork(pos.getWorld(), pos.getBlockPos(), target.getCenter().getSide()),
+                new PartNetworkElement(this, target));
+    }
+
     @Override
     public List<IAspectRead> getReadAspects() {
         if (aspectsRead == null) {
@@ -109,6 +161,9 @@ public abstract class PartTypeReadBase<P extends IPartTypeReader<P, S>, S extend
                         "part type %s.", aspect.getUnlocalizedName(), this));
             }
             variable = aspect.createNewVariable(target);
+            if (variable instanceof LazyAspectVariable) {
+                ((LazyAspectVariable<V>) variable).setObservationListener(() -> onAspectObserved(target, partState));
+            }
             partState.setVariable(aspect, variable);
         }
         return variable;
@@ -0,0 +1,81 @@
+package org.cyclops.integrateddynamics.core.part.read;
+
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.cyclops.integrateddynamics.api.part.read.IPartStateReader;
+import org.cyclops.integrateddynamics.core.network.NetworkTickPhases;
+
+import java.util.function.Supplier;
+
+/**
+ * Lets demand-driven readers sleep while none of their aspects are observed.
+ * A sleeping reader is not scheduled in its network, so it is not updated and does not consume energy,
+ * until the value of one of its variables is requested again.
+ * @author rubensworks
+ */
+public final class ReaderSleep {
+
+    private ReaderSleep() {
+
+    }
+
+    /**
+     * Called after a reader was updated.
+     * @param network The network.
+     * @param element The network element of the reader.
+     * @param state The reader state.
+     * @param observed If any of the aspects of the reader were observed.
+     * @return If the reader is now sleeping.
+     */
+    public static boolean afterUpdate(INetwork network, INetworkElement element, IPartStateReader<?> state,
+                                      boolean observed) {
+        // The flag is written on each update, so it does not go stale when the network schedules this reader again,
+        // for example after revalidation.
+        boolean sleeping = !observed && GeneralConfig.demandDrivenReaders;
+        state.setSleeping(sleeping);
+        if (sleeping) {
+            // Stop updating until one of our aspects is observed again.
+            network.removeNetworkElementUpdateable(element);
+        }
+        return sleeping;
+    }
+
+    /**
+     * Called when the network of a reader is (re)initialized, as the network schedules all its elements then.
+     * @param state The reader state.
+     */
+    public static void afterNetworkReAlive(IPartStateReader<?> state) {
+        state.setSleeping(false);
+    }
+
+    /**
+     * Called when the value of a variable of a reader is requested while it was not being observed.
+     * This can be called from within the compute phase of any network,
+     * so the reader is only woken up in the apply phase.
+     * @param state The reader state.
+     * @param wake The action that wakes up the reader.
+     */
+    public static void onAspectObserved(IPartStateReader<?> state, Runnable wake) {
+        if (state.isSleeping()) {
+            NetworkTickPhases.apply(wake);
+        }
+    }
+
+    /**
+     * Schedule a reader in its network again if it is sleeping.
+     * @param state The reader state.
+     * @param network The network of the reader, which is only looked up if the reader is sleeping.
+     * @param element The network element of the reader.
+     */
+    public static void wake(IPartStateReader<?> state, Supplier<INetwork> network, INetworkElement element) {
+        if (state.isSleeping()) {
+            state.setSleeping(false);
+            INetwork readerNetwork = network.get();
+            if (readerNetwork != null) {
+                readerNetwork.wakeNetworkElement(element);
+            }
+        }
+    }
+
+}
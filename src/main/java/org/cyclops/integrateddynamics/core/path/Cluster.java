@@ -1,5 +1,6 @@
 package org.cyclops.integrateddynamics.core.path;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import lombok.Data;
 import lombok.experimental.Delegate;
@@ -11,6 +12,7 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import org.apache.logging.log4j.Level;
+import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.cyclopscore.helper.TileHelpers;
 import org.cyclops.cyclopscore.persist.nbt.INBTSerializable;
@@ -21,6 +23,7 @@ import org.cyclops.integrateddynamics.capability.path.PathElementConfig;
 import org.cyclops.integrateddynamics.capability.path.SidedPathElement;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -64,6 +67,22 @@ public class Cluster implements Collection<ISidedPathElement>, INBTSerializable
         return tag;
     }
 
+    /**
+     * Get the path element positions that are stored in the given cluster tag.
+     * This does not resolve the path elements, so it does not load the chunks they are in.
+     * @param tag A tag as created by {@link #toNBT()}.
+     * @return The stored positions.
+     */
+    public static List<DimPos> getPositions(NBTTagCompound tag) {
+        NBTTagList list = tag.getTagList("list", MinecraftHelpers.NBTTag_Types.NBTTagCompound.ordinal());
+        List<DimPos> positions = Lists.newArrayListWithExpectedSize(list.tagCount());
+        for(int i = 0; i < list.tagCount(); i++) {
+            NBTTagCompound elementTag = list.getCompoundTagAt(i);
+            positions.add(DimPos.of(elementTag.getInteger("dimension"), BlockPos.fromLong(elementTag.getLong("pos"))));
+        }
+        return positions;
+    }
+
     @Override
     public void fromNBT(NBTTagCompound tag) {
         NBTTagList list = tag.getTagList("list", MinecraftHelpers.NBTTag_Types.NBTTagCompound.ordinal());
@@ -1,48 +1,193 @@
 package org.cyclops.integrateddynamics.core.path;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.integrateddynamics.api.path.IPathElement;
 import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
 
-import java.util.Set;
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
 import java.util.TreeSet;
 
 /**
  * Algorithm to construct paths/clusters of {@link IPathElement}s.
+ * Traversals are iterative, and keep track of visited positions using primitive block position keys per dimension,
+ * so that very large clusters can be handled.
  * @author rubensworks
  */
 public final class PathFinder {
 
-    protected static TreeSet<ISidedPathElement> getConnectedElements(ISidedPathElement head, Set<DimPos> visitedPositions) {
+    /**
+     * Mark the given position as visited.
+     * @param visitedPositions The visited positions, as block positions per dimension.
+     * @param position The position to visit.
+     * @return If the position was not visited before.
+     */
+    protected static boolean visit(TIntObjectMap<TLongSet> visitedPositions, DimPos position) {
+        TLongSet dimensionPositions = visitedPositions.get(position.getDimensionId());
+        if (dimensionPositions == null) {
+            dimensionPositions = new TLongHashSet();
+            visitedPositions.put(position.getDimensionId(), dimensionPositions);
+        }
+        return dimensionPositions.add(position.getBlockPos().toLong());
+    }
+
+    protected static TreeSet<ISidedPathElement> getConnectedElements(ISidedPathElement head, TIntObjectMap<TLongSet> visitedPositions) {
         TreeSet<ISidedPathElement> elements = Sets.newTreeSet();
+        Deque<ISidedPathElement> queue = new ArrayDeque<>();
 
         // Make sure to add our head
-        if(!visitedPositions.contains(head.getPathElement().getPosition())) {
+        if(visit(visitedPositions, head.getPathElement().getPosition())) {
             elements.add(head);
-            visitedPositions.add(head.getPathElement().getPosition());
+            queue.add(head);
         }
 
-        // Add neighbours that haven't been checked yet.
-        for(ISidedPathElement neighbour : head.getPathElement().getReachableElements()) {
-            if(!visitedPositions.contains(neighbour.getPathElement().getPosition())) {
-                elements.add(neighbour);
-                visitedPositions.add(neighbour.getPathElement().getPosition());
+        // Add neighbours that haven't been checked yet, until no new elements are found.
+        ISidedPathElement element;
+        while ((element = queue.poll()) != null) {
+            for(ISidedPathElement neighbour : element.getPathElement().getReachableElements()) {
+                if(visit(visitedPositions, neighbour.getPathElement().getPosition())) {
+                    elements.add(neighbour);
+                    queue.add(neighbour);
+                }
             }
         }
 
-        // Loop over the added neighbours to recursively check their neighbours.
-        Set<ISidedPathElement> neighbourElements = Sets.newHashSet();
-        for(ISidedPathElement addedElement : elements) {
-            neighbourElements.addAll(getConnectedElements(addedElement, visitedPositions));
-        }
-        elements.addAll(neighbourElements);
-
         return elements;
     }
 
     public static Cluster getConnectedCluster(ISidedPathElement head) {
-        return new Cluster(getConnectedElements(head, Sets.<DimPos>newTreeSet()));
+        return new Cluster(getConnectedElements(head, new TIntObjectHashMap<>()));
+    }
+
+    @Nullable
+    protected static Exploration getOwner(TIntObjectMap<TLongObjectMap<Exploration>> owners, DimPos position) {
+        TLongObjectMap<Exploration> dimensionOwners = owners.get(position.getDimensionId());
+        return dimensionOwners == null ? null : dimensionOwners.get(position.getBlockPos().toLong());
+    }
+
+    protected static void setOwner(TIntObjectMap<TLongObjectMap<Exploration>> owners, DimPos position, Exploration owner) {
+        TLongObjectMap<Exploration> dimensionOwners = owners.get(position.getDimensionId());
+        if (dimensionOwners == null) {
+            dimensionOwners = new TLongObjectHashMap<>();
+            owners.put(position.getDimensionId(), dimensionOwners);
+        }
+        dimensionOwners.put(position.getBlockPos().toLong(), owner);
+    }
+
+    /**
+     * Find the clusters that have become disconnected from each other,
+     * starting from path elements that were previously connected to each other.
+     *
+     * The clusters of all heads are explored in lockstep, and explorations are merged as soon as they meet.
+     * Exploration stops once a single exploration remains,
+     * so the largest cluster never has to be explored completely.
+     *
+     * @param heads The path elements to start from.
+     * @return The clusters that are disconnected from the largest cluster, in the order they were completed.
+     *         This is empty if all heads are still connected to each other.
+     */
+    public static List<Cluster> getDisconnectedClusters(Collection<ISidedPathElement> heads) {
+        TIntObjectMap<TLongObjectMap<Exploration>> owners = new TIntObjectHashMap<>();
+        Deque<Exploration> explorations = new ArrayDeque<>();
+        for (ISidedPathElement head : heads) {
+            DimPos position = head.getPathElement().getPosition();
+            if (getOwner(owners, position) == null) {
+                Exploration exploration = new Exploration();
+                exploration.visit(head);
+                setOwner(owners, position, exploration);
+                explorations.add(exploration);
+            }
+        }
+
+        List<Cluster> clusters = Lists.newArrayList();
+        int activeExplorations = explorations.size();
+        while (activeExplorations > 1) {
+            Exploration exploration = explorations.poll();
+            if (exploration.mergedInto != null) {
+                continue;
+            }
+
+            ISidedPathElement element = exploration.queue.poll();
+            if (element == null) {
+                // This exploration is complete, so its cluster is disconnected from all other explorations.
+                clusters.add(new Cluster(exploration.elements));
+                activeExplorations--;
+                continue;
+            }
+
+            for (ISidedPathElement neighbour : element.getPathElement().getReachableElements()) {
+                DimPos position = neighbour.getPathElement().getPosition();
+                Exploration current = exploration.find();
+                Exploration owner = getOwner(owners, position);
+                if (owner == null) {
+                    setOwner(owners, position, current);
+                    current.visit(neighbour);
+                } else {
+                    owner = owner.find();
+                    if (owner != current) {
+                        // Both explorations are part of the same cluster.
+                        Exploration.merge(current, owner);
+                        activeExplorations--;
+                    }
+                }
+            }
+
+            if (exploration.mergedInto == null) {
+                explorations.add(exploration);
+            }
+        }
+        return clusters;
+    }
+
+    /**
+     * A breadth-first exploration of a cluster, which can be merged with other explorations.
+     */
+    protected static class Exploration {
+
+        private final TreeSet<ISidedPathElement> elements = Sets.newTreeSet();
+        private final Deque<ISidedPathElement> queue = new ArrayDeque<>();
+        private Exploration mergedInto = null;
+
+        public void visit(ISidedPathElement element) {
+            elements.add(element);
+            queue.add(element);
+        }
+
+        public Exploration find() {
+            Exploration exploration = this;
+            while (exploration.mergedInto != null) {
+                exploration = exploration.mergedInto;
+            }
+            return exploration;
+        }
+
+        /**
+         * Merge the smallest of the two given explorations into the largest one.
+         * @param a An exploration.
+         * @param b Another exploration.
+         * @return The remaining exploration.
+         */
+        public static Exploration merge(Exploration a, Exploration b) {
+            Exploration target = a.elements.size() >= b.elements.size() ? a : b;
+            Exploration source = target == a ? b : a;
+            target.elements.addAll(source.elements);
+            target.queue.addAll(source.queue);
+            source.elements.clear();
+            source.queue.clear();
+            source.mergedInto = target;
+            return target;
+        }
     }
 
 }
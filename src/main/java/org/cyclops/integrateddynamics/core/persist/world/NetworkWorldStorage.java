@@ -3,18 +3,26 @@ package org.cyclops.integrateddynamics.core.persist.world;
 import com.google.common.collect.Sets;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.cyclopscore.init.ModBase;
 import org.cyclops.cyclopscore.persist.nbt.NBTPersist;
 import org.cyclops.cyclopscore.persist.world.WorldStorage;
 import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.core.network.Network;
+import org.cyclops.integrateddynamics.core.network.NetworkChunkIndex;
 
 import java.util.Collections;
 import java.util.Set;
 
 /**
  * World NBT storage for all active networks.
+ * Networks of which none of the chunks are loaded are hibernated, which means that they are not ticked,
+ * and that they only keep their cluster and the serialized state of their capabilities.
  * @author rubensworks
  */
 public class NetworkWorldStorage extends WorldStorage {
@@ -22,10 +30,14 @@ public class NetworkWorldStorage extends WorldStorage {
     private static NetworkWorldStorage INSTANCE = null;
 
     @NBTPersist
-    private Set<INetwork> networks = Sets.newHashSet();
+    private Set<INetwork> networks = Sets.newLinkedHashSet();
+    private final Set<INetwork> hibernatedNetworks = Sets.newIdentityHashSet();
+    private volatile INetwork[] networksSnapshot = null;
+    private final NetworkChunkIndex chunkIndex = new NetworkChunkIndex();
 
     private NetworkWorldStorage(ModBase mod) {
         super(mod);
+        MinecraftForge.EVENT_BUS.register(this);
     }
 
     public static NetworkWorldStorage getInstance(ModBase mod) {
@@ -37,11 +49,14 @@ public class NetworkWorldStorage extends WorldStorage {
 
     @Override
     public void readGeneratedFieldsFromNBT(NBTTagCompound tag) {
-        // TODO: backwards compat, remove in next major MC update.
+        // TODO: backwards compat for PartNetwork, remove in next major MC update.
+        String elementType = tag.getCompoundTag("networks").getString("elementType");
         if (tag.hasKey("networks", MinecraftHelpers.NBTTag_Types.NBTTagCompound.ordinal())
-                && "org.cyclops.integrateddynamics.core.network.PartNetwork".equals(tag.getCompoundTag("networks").getString("elementType"))) {
+                && ("org.cyclops.integrateddynamics.core.network.PartNetwork".equals(elementType)
+                || Network.class.getName().equals(elementType))) {
+            // The persisted list is read in order, so that networks keep ticking in the order in which they were added.
             NBTTagCompound collectionTag = tag.getCompoundTag("networks");
-            networks = Sets.newHashSet();
+            networks = Sets.newLinkedHashSet();
             NBTTagList list = collectionTag.getTagList("collection", MinecraftHelpers.NBTTag_Types.NBTTagCompound.ordinal());
             if(list.tagCount() > 0) {
                 for (int i = 0; i < list.tagCount(); i++) {
@@ -53,12 +68,18 @@ public class NetworkWorldStorage extends WorldStorage {
             }
         } else {
             super.readGeneratedFieldsFromNBT(tag);
+            // Make sure that networks that are added later on are ticked in the order in which they were added.
+            networks = Sets.newLinkedHashSet(networks);
         }
+        invalidateNetworksSnapshot();
     }
 
     @Override
-    public void reset() {
+    public synchronized void reset() {
         networks.clear();
+        hibernatedNetworks.clear();
+        chunkIndex.clear();
+        invalidateNetworksSnapshot();
     }
 
     @Override
@@ -71,7 +92,9 @@ public class NetworkWorldStorage extends WorldStorage {
      * @param network The network.
      */
     public synchronized void addNewNetwork(INetwork network) {
-        networks.add(network);
+        if (networks.add(network)) {
+            invalidateNetworksSnapshot();
+        }
     }
 
     /**
@@ -80,7 +103,44 @@ public class NetworkWorldStorage extends WorldStorage {
      * @param network The network.
      */
     public synchronized void removeInvalidatedNetwork(INetwork network) {
-        networks.remove(network);
+        hibernatedNetworks.remove(network);
+        if (networks.remove(network)) {
+            invalidateNetworksSnapshot();
+        }
+    }
+
+    /**
+     * Hibernate the given network, so that it will not be ticked anymore until it is woken up.
+     * The network drops its live state, but keeps its position in the tick order.
+     * Its network elements are derived again when it is updated after waking up.
+     * This should be called when none of the chunks of the network are loaded anymore.
+     * @param network The network.
+     */
+    public synchronized void hibernateNetwork(INetwork network) {
+        if (networks.contains(network) && hibernatedNetworks.add(network)) {
+            if (network instanceof Network) {
+                ((Network) network).hibernate();
+            }
+            invalidateNetworksSnapshot();
+        }
+    }
+
+    /**
+     * Make the given network tick again if it was hibernated.
+     * @param network The network.
+     */
+    public synchronized void wakeNetwork(INetwork network) {
+        if (hibernatedNetworks.remove(network)) {
+            invalidateNetworksSnapshot();
+        }
+    }
+
+    /**
+     * @param network The network.
+     * @return If the given network is hibernated.
+     */
+    public synchronized boolean isHibernated(INetwork network) {
+        return hibernatedNetworks.contains(network);
     }
 
     /**
@@ -90,6 +150,70 @@ public class NetworkWorldStorage extends WorldStorage {
         return Collections.unmodifiableSet(Sets.newHashSet(networks));
     }
 
+    /**
+     * @return The index from chunks to the networks that have path elements in them.
+     */
+    public NetworkChunkIndex getChunkIndex() {
+        return chunkIndex;
+    }
+
+    protected void invalidateNetworksSnapshot() {
+        this.networksSnapshot = null;
+    }
+
+    /**
+     * Get a stable snapshot of the current networks, in the order in which they were added.
+     * This snapshot is only rebuilt when networks are added or removed,
+     * so it is cheap to call this every tick.
+     * The returned array is shared, and must therefore never be modified.
+     * @return The current networks.
+     */
+    public INetwork[] getNetworksSnapshot() {
+        INetwork[] snapshot = this.networksSnapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = this.networksSnapshot;
+                if (snapshot == null) {
+                    if (hibernatedNetworks.isEmpty()) {
+                        snapshot = networks.toArray(new INetwork[networks.size()]);
+                    } else {
+                        snapshot = networks.stream()
+                                .filter(network -> !hibernatedNetworks.contains(network))
+                                .toArray(INetwork[]::new);
+                    }
+                    this.networksSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event) {
+        if (!event.getWorld().isRemote) {
+            Chunk chunk = event.getChunk();
+            for (INetwork network : chunkIndex.getNetworks(event.getWorld().provider.getDimension(), ChunkPos.asLong(chunk.x, chunk.z))) {
+                wakeNetwork(network);
+                if (network instanceof Network) {
+                    // Network elements in this chunk may not have been derived since the network woke up.
+                    ((Network) network).onChunkLoaded();
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event) {
+        if (!event.getWorld().isRemote) {
+            Chunk chunk = event.getChunk();
+            for (INetwork network : chunkIndex.getNetworks(event.getWorld().provider.getDimension(), ChunkPos.asLong(chunk.x, chunk.z))) {
+                if (!isHibernated(network) && !chunkIndex.hasLoadedChunks(network, chunk)) {
+                    hibernateNetwork(network);
+                }
+            }
+        }
+    }
+
     @Override
     public void afterLoad() {
         for(INetwork network : networks) {
@@ -41,7 +41,9 @@ import org.cyclops.integrateddynamics.capability.path.PathElementConfig;
 import org.cyclops.integrateddynamics.capability.path.PathElementTileMultipartTicking;
 import org.cyclops.integrateddynamics.client.model.CableRenderState;
 import org.cyclops.integrateddynamics.core.helper.CableHelpers;
+import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
 import org.cyclops.integrateddynamics.core.helper.PartHelpers;
+import org.cyclops.integrateddynamics.core.network.NetworkTickPhases;
 
 import java.util.Map;
 import java.util.Objects;
@@ -87,6 +89,7 @@ public class TileMultipartTicking extends CyclopsTileEntity implements CyclopsTi
     private final ICableFakeable cableFakeable;
 
     private IExtendedBlockState cachedState = null;
+    private boolean shouldRevalidateParts = true;
 
     public TileMultipartTicking() {
         partContainer = new PartContainerTileMultipartTicking(this);
@@ -186,22 +189,28 @@ public class TileMultipartTicking extends CyclopsTileEntity implements CyclopsTi
         if (connected.isEmpty()) {
             cable.updateConnections();
         }
+        if (shouldRevalidateParts && !getWorld().isRemote) {
+            // Parts that were invalidated when their chunk was unloaded are only ticked again after revalidation.
+            shouldRevalidateParts = !NetworkHelpers.revalidateNetworkElements(getWorld(), getPos());
+        }
         partContainer.update();
     }
 
     public void updateRedstoneInfo(EnumFacing side, boolean strongPower) {
-        this.markDirty();
-        if (getWorld().isBlockLoaded(getPos().offset(side))) {
-            getWorld().neighborChanged(getPos().offset(side), getBlockType(), getPos());
-            if (strongPower) {
-                // When we are emitting a strong power, also update all neighbours of the target
-                getWorld().notifyNeighborsOfStateChange(getPos().offset(side), getBlockType(), true);
+        NetworkTickPhases.apply(() -> {
+            this.markDirty();
+            if (getWorld().isBlockLoaded(getPos().offset(side))) {
+                getWorld().neighborChanged(getPos().offset(side), getBlockType(), getPos());
+                if (strongPower) {
+                    // When we are emitting a strong power, also update all neighbours of the target
+                    getWorld().notifyNeighborsOfStateChange(getPos().offset(side), getBlockType(), true);
+                }
             }
-        }
+        });
     }
 
     public void updateLightInfo() {
-        sendUpdate();
+        NetworkTickPhases.apply(this::sendUpdate);
     }
 
     public INetwork getNetwork() {
@@ -252,9 +261,16 @@ public class TileMultipartTicking extends CyclopsTileEntity implements CyclopsTi
     @Override
     public void onChunkUnload() {
         super.onChunkUnload();
+        // This also clears the part containers that are cached in the network elements of the parts.
         invalidateParts();
     }
 
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        shouldRevalidateParts = true;
+    }
+
     protected void invalidateParts() {
         if (getWorld() != null && !getWorld().isRemote) {
             INetwork network = getNetwork();
@@ -75,4 +75,9 @@ public class CoalGeneratorNetworkElement extends NetworkElementBase implements I
     public DimPos getPosition() {
         return this.pos;
     }
+
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
 }
@@ -44,4 +44,9 @@ public class MaterializerNetworkElement extends TileNetworkElement<TileMateriali
     public int getChannel() {
         return IChanneledNetwork.DEFAULT_CHANNEL;
     }
+
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
 }
@@ -52,4 +52,8 @@ public class MechanicalMachineNetworkElement extends NetworkElementBase {
         return this.getClass().getCanonicalName().compareTo(o.getClass().getCanonicalName());
     }
 
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
 }
@@ -96,4 +96,9 @@ public class ProxyNetworkElement extends TileNetworkElement<TileProxy> implement
     protected Class<TileProxy> getTileClass() {
         return TileProxy.class;
     }
+
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
 }
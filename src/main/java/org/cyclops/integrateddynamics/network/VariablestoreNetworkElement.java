@@ -61,4 +61,9 @@ public class VariablestoreNetworkElement extends TileNetworkElement<TileVariable
     public TileVariablestore getNetworkEventListener() {
         return getTile();
     }
+
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
 }
@@ -47,6 +47,11 @@ public abstract class PartTypeConnector<P extends PartTypeConnector<P, S>, S ext
         return null;
     }
 
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+
     @Override
     public void afterNetworkReAlive(INetwork network, IPartNetwork partNetwork, PartTarget target, S state) {
         super.afterNetworkReAlive(network, partNetwork, target, state);
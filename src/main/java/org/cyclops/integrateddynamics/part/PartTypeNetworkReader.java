@@ -22,6 +22,10 @@ public class PartTypeNetworkReader extends PartTypeReadBase<PartTypeNetworkReade
                 Aspects.Read.Network.INTEGER_ENERGY_STORED,
                 Aspects.Read.Network.INTEGER_ENERGY_MAX,
                 Aspects.Read.Network.INTEGER_ENERGY_CONSUMPTION_RATE,
+                Aspects.Read.Network.LONG_ENERGY_INSERTED,
+                Aspects.Read.Network.LONG_ENERGY_EXTRACTED,
+                Aspects.Read.Network.LONG_ENERGY_CONSUMED,
+                Aspects.Read.Network.LONG_ENERGY_STARVED,
                 Aspects.Read.Network.ANY_VALUE
         ));
     }
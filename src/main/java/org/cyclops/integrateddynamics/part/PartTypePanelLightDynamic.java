@@ -22,6 +22,7 @@ import org.cyclops.integrateddynamics.capability.dynamiclight.DynamicLightConfig
 import org.cyclops.integrateddynamics.core.block.IgnoredBlockStatus;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeLightLevels;
 import org.cyclops.integrateddynamics.core.helper.L10NValues;
+import org.cyclops.integrateddynamics.core.network.NetworkTickPhases;
 import org.cyclops.integrateddynamics.core.part.panel.PartTypePanelVariableDriven;
 
 /**
@@ -104,7 +105,8 @@ public class PartTypePanelLightDynamic extends PartTypePanelVariableDriven<PartT
         super.postUpdate(network, partNetwork, target, state, updated);
         boolean isEnabled = isEnabled(state);
         if(wasEnabled != isEnabled) {
-            setLightLevel(target, isEnabled ? getLightLevel(state, state.getDisplayValue()) : 0);
+            int lightLevel = isEnabled ? getLightLevel(state, state.getDisplayValue()) : 0;
+            NetworkTickPhases.apply(() -> setLightLevel(target, lightLevel));
         }
     }
 
@@ -9,6 +9,7 @@ import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.network.IPartNetwork;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.core.block.IgnoredBlock;
+import org.cyclops.integrateddynamics.core.network.NetworkTickPhases;
 import org.cyclops.integrateddynamics.core.part.PartStateEmpty;
 import org.cyclops.integrateddynamics.core.part.panel.PartTypePanel;
 
@@ -78,13 +79,19 @@ public class PartTypePanelLightStatic extends PartTypePanel<PartTypePanelLightSt
         PartTypePanelLightDynamic.setLightLevel(target, 0);
     }
 
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+
     @Override
     public void postUpdate(INetwork network, IPartNetwork partNetwork, PartTarget target, PartStateEmpty<PartTypePanelLightStatic> state, boolean updated) {
         boolean wasEnabled = isEnabled(state);
         super.postUpdate(network, partNetwork, target, state, updated);
         boolean isEnabled = isEnabled(state);
         if(wasEnabled != isEnabled) {
-            PartTypePanelLightDynamic.setLightLevel(target, isEnabled ? LIGHT_LEVEL : 0);
+            int lightLevel = isEnabled ? LIGHT_LEVEL : 0;
+            NetworkTickPhases.apply(() -> PartTypePanelLightDynamic.setLightLevel(target, lightLevel));
         }
     }
 }
@@ -31,12 +31,11 @@ import org.apache.commons.lang3.tuple.Triple;
 import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.cyclopscore.helper.TileHelpers;
-import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.evaluate.IValueInterface;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
-import org.cyclops.integrateddynamics.api.network.IEnergyConsumingNetworkElement;
+import org.cyclops.integrateddynamics.api.network.IEnergyNetwork;
 import org.cyclops.integrateddynamics.api.part.PartPos;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.api.part.aspect.AspectUpdateType;
@@ -525,7 +524,7 @@ public class Aspects {
                     ).handle(AspectReadBuilders.PROP_GET_INTEGER, "elementcount").buildRead();
             public static final IAspectRead<ValueTypeInteger.ValueInteger, ValueTypeInteger> INTEGER_ENERGY_BATTERY_COUNT =
                     AspectReadBuilders.Network.BUILDER_INTEGER.handle(
-                        network -> network != null && network.hasCapability(EnergyNetworkConfig.CAPABILITY) ? network.getCapability(EnergyNetworkConfig.CAPABILITY).getPositions().size() : 0
+                        network -> network != null && network.hasCapability(EnergyNetworkConfig.CAPABILITY) ? network.getCapability(EnergyNetworkConfig.CAPABILITY).getPositionCount() : 0
                     ).handle(AspectReadBuilders.PROP_GET_INTEGER, "energy").appendKind("batterycount").buildRead();
             public static final IAspectRead<ValueTypeInteger.ValueInteger, ValueTypeInteger> INTEGER_ENERGY_STORED =
                     AspectReadBuilders.Network.ENERGY_BUILDER.handle(
@@ -536,13 +535,26 @@ public class Aspects {
                         storage -> storage != null ? storage.getMaxEnergyStored() : 0
                     ).handle(AspectReadBuilders.PROP_GET_INTEGER, "energy").appendKind("max").buildRead();
             public static final IAspectRead<ValueTypeInteger.ValueInteger, ValueTypeInteger> INTEGER_ENERGY_CONSUMPTION_RATE =
-                    AspectReadBuilders.Network.BUILDER_INTEGER.handle(
-                            network -> network != null && GeneralConfig.energyConsumptionMultiplier > 0
-                                    ? network.getElements().stream()
-                                    .mapToInt((e) -> e instanceof IEnergyConsumingNetworkElement
-                                            ? ((IEnergyConsumingNetworkElement) e).getConsumptionRate() : 0).sum()
-                                    * GeneralConfig.energyConsumptionMultiplier : 0
+                    AspectReadBuilders.Network.ENERGY_NETWORK_BUILDER.handle(
+                            data -> data.getLeft() != null
+                                    ? data.getLeft().getConsumptionRate(data.getRight().getValue(AspectReadBuilders.Network.PROPERTY_CHANNEL).getRawValue()) : 0
                     ).handle(AspectReadBuilders.PROP_GET_INTEGER, "energy").appendKind("consumptionrate").buildRead();
+            public static final IAspectRead<ValueTypeLong.ValueLong, ValueTypeLong> LONG_ENERGY_INSERTED =
+                    AspectReadBuilders.Network.ENERGY_FLOW_BUILDER.handle(
+                            AspectReadBuilders.Network.propGetEnergyFlow(IEnergyNetwork.FlowType.INSERTED)
+                    ).handle(AspectReadBuilders.PROP_GET_LONG, "energy").appendKind("inserted").buildRead();
+            public static final IAspectRead<ValueTypeLong.ValueLong, ValueTypeLong> LONG_ENERGY_EXTRACTED =
+                    AspectReadBuilders.Network.ENERGY_FLOW_BUILDER.handle(
+                            AspectReadBuilders.Network.propGetEnergyFlow(IEnergyNetwork.FlowType.EXTRACTED)
+                    ).handle(AspectReadBuilders.PROP_GET_LONG, "energy").appendKind("extracted").buildRead();
+            public static final IAspectRead<ValueTypeLong.ValueLong, ValueTypeLong> LONG_ENERGY_CONSUMED =
+                    AspectReadBuilders.Network.ENERGY_FLOW_BUILDER.handle(
+                            AspectReadBuilders.Network.propGetEnergyFlow(IEnergyNetwork.FlowType.CONSUMED)
+                    ).handle(AspectReadBuilders.PROP_GET_LONG, "energy").appendKind("consumed").buildRead();
+            public static final IAspectRead<ValueTypeLong.ValueLong, ValueTypeLong> LONG_ENERGY_STARVED =
+                    AspectReadBuilders.Network.ENERGY_FLOW_BUILDER.handle(
+                            AspectReadBuilders.Network.propGetEnergyFlow(IEnergyNetwork.FlowType.STARVED)
+                    ).handle(AspectReadBuilders.PROP_GET_LONG, "energy").appendKind("starved").buildRead();
             public static final IAspectRead<IValue, ValueTypeCategoryAny> ANY_VALUE =
                     AspectReadBuilders.BUILDER_ANY.appendKind("network").handle(
                             data -> {
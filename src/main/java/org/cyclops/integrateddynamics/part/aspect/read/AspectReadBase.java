@@ -5,6 +5,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.cyclopscore.init.ModBase;
+import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
@@ -18,10 +19,13 @@ import org.cyclops.integrateddynamics.api.part.aspect.IAspectVariable;
 import org.cyclops.integrateddynamics.api.part.aspect.property.IAspectProperties;
 import org.cyclops.integrateddynamics.api.part.read.IPartStateReader;
 import org.cyclops.integrateddynamics.api.part.read.IPartTypeReader;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
 import org.cyclops.integrateddynamics.core.part.aspect.LazyAspectVariable;
 import org.cyclops.integrateddynamics.part.aspect.AspectBase;
 import org.cyclops.integrateddynamics.part.aspect.Aspects;
 
+import javax.annotation.Nullable;
+
 /**
  * Base class for read aspects.
  * @author rubensworks
@@ -50,10 +54,30 @@ public abstract class AspectReadBase<V extends IValue, T extends IValueType<V>>
     public <P extends IPartType<P, S>, S extends IPartState<P>> void update(IPartNetwork network, P partType, PartTarget target, S state) {
         IAspectVariable variable = ((IPartTypeReader) partType).getVariable(target, (IPartStateReader) state, this);
         if (variable.canInvalidate()) {
-            variable.invalidate();
+            if (GeneralConfig.aspectValueChangeCutoff && hasComparableValues() && variable instanceof LazyAspectVariable) {
+                ((LazyAspectVariable) variable).refresh();
+            } else {
+                variable.invalidate();
+            }
         }
     }
 
+    @Override
+    public boolean canSkipUpdate(@Nullable IAspectVariable<V> variable) {
+        return variable == null || (variable instanceof LazyAspectVariable && !((LazyAspectVariable) variable).isObserved());
+    }
+
+    /**
+     * Values can only be compared for detecting changes if they are immutable and do not refer to live objects,
+     * such as lazy list proxies, item stacks or entities.
+     * @return If values of this aspect can be compared to an earlier value to detect changes.
+     */
+    protected boolean hasComparableValues() {
+        T valueType = getValueType();
+        return valueType == ValueTypes.BOOLEAN || valueType == ValueTypes.INTEGER || valueType == ValueTypes.DOUBLE
+                || valueType == ValueTypes.LONG || valueType == ValueTypes.STRING;
+    }
+
     protected String getUnlocalizedType() {
         return "read" + this.unlocalizedTypeSuffix;
     }
@@ -28,6 +28,7 @@ import org.cyclops.cyclopscore.helper.TileHelpers;
 import org.cyclops.integrateddynamics.Capabilities;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.network.IChanneledNetwork;
+import org.cyclops.integrateddynamics.api.network.IEnergyNetwork;
 import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.part.PartPos;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
@@ -346,6 +347,39 @@ public class AspectReadBuilders {
         public static final AspectBuilder<ValueTypeInteger.ValueInteger, ValueTypeInteger, IEnergyStorage>
                 ENERGY_BUILDER = AspectReadBuilders.BUILDER_INTEGER.handle(PROP_GET_ENERGY_CHANNEL, "network").withProperties(PROPERTIES);
 
+        public static final IAspectPropertyTypeInstance<ValueTypeBoolean, ValueTypeBoolean.ValueBoolean> PROPERTY_LAST_MINUTE =
+                new AspectPropertyTypeInstance<>(ValueTypes.BOOLEAN, "aspect.aspecttypes.integrateddynamics.boolean.last_minute.name");
+        public static final IAspectProperties PROPERTIES_ENERGY_FLOW = new AspectProperties(ImmutableList.<IAspectPropertyTypeInstance>of(
+                PROPERTY_CHANNEL,
+                PROPERTY_LAST_MINUTE
+        ));
+        static {
+            PROPERTIES_ENERGY_FLOW.setValue(PROPERTY_CHANNEL, ValueTypeInteger.ValueInteger.of(IChanneledNetwork.WILDCARD_CHANNEL));
+            PROPERTIES_ENERGY_FLOW.setValue(PROPERTY_LAST_MINUTE, ValueTypeBoolean.ValueBoolean.of(false));
+        }
+
+        public static final IAspectValuePropagator<Pair<PartTarget, IAspectProperties>, Pair<IEnergyNetwork, IAspectProperties>> PROP_GET_ENERGY_NETWORK = input -> {
+            DimPos dimPos = input.getLeft().getTarget().getPos();
+            INetwork network = NetworkHelpers.getNetwork(dimPos.getWorld(), dimPos.getBlockPos(), input.getLeft().getTarget().getSide());
+            return Pair.of(network != null && network.hasCapability(EnergyNetworkConfig.CAPABILITY) ? network.getCapability(EnergyNetworkConfig.CAPABILITY) : null, input.getRight());
+        };
+
+        public static final AspectBuilder<ValueTypeInteger.ValueInteger, ValueTypeInteger, Pair<IEnergyNetwork, IAspectProperties>>
+                ENERGY_NETWORK_BUILDER = AspectReadBuilders.BUILDER_INTEGER.handle(PROP_GET_ENERGY_NETWORK, "network").withProperties(PROPERTIES);
+        public static final AspectBuilder<ValueTypeLong.ValueLong, ValueTypeLong, Pair<IEnergyNetwork, IAspectProperties>>
+                ENERGY_FLOW_BUILDER = AspectReadBuilders.BUILDER_LONG.handle(PROP_GET_ENERGY_NETWORK, "network").withProperties(PROPERTIES_ENERGY_FLOW);
+
+        public static IAspectValuePropagator<Pair<IEnergyNetwork, IAspectProperties>, Long> propGetEnergyFlow(IEnergyNetwork.FlowType type) {
+            return input -> {
+                if (input.getLeft() == null) {
+                    return 0L;
+                }
+                int channel = input.getRight().getValue(PROPERTY_CHANNEL).getRawValue();
+                boolean lastMinute = input.getRight().getValue(PROPERTY_LAST_MINUTE).getRawValue();
+                return input.getLeft().getEnergyFlow(channel, type, lastMinute);
+            };
+        }
+
     }
 
     public static final class Redstone {
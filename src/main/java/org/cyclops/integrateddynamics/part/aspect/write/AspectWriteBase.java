@@ -18,9 +18,12 @@ import org.cyclops.integrateddynamics.api.part.aspect.IAspectWrite;
 import org.cyclops.integrateddynamics.api.part.aspect.property.IAspectProperties;
 import org.cyclops.integrateddynamics.api.part.write.IPartStateWriter;
 import org.cyclops.integrateddynamics.api.part.write.IPartTypeWriter;
+import org.cyclops.integrateddynamics.core.network.NetworkTickPhases;
 import org.cyclops.integrateddynamics.part.aspect.AspectBase;
 import org.cyclops.integrateddynamics.part.aspect.Aspects;
 
+import javax.annotation.Nullable;
+
 /**
  * Base class for write aspects.
  * @author rubensworks
@@ -47,23 +50,52 @@ public abstract class AspectWriteBase<V extends IValue, T extends IValueType<V>>
         IPartTypeWriter partTypeWriter = (IPartTypeWriter) partType;
         IPartStateWriter writerState = (IPartStateWriter) state;
         IVariable variable = partTypeWriter.getActiveVariable(network, target, writerState);
-        if(variable != null
+        if (NetworkTickPhases.isComputing() && isWritable(writerState, variable)) {
+            // Only evaluate the variable in the compute phase, activation and writing may change the world.
+            try {
+                variable.getValue();
+            } catch (EvaluationException e) {
+                // The error is added when writing, after the activation.
+            }
+        }
+        NetworkTickPhases.apply(() -> updateActivationAndWrite(partTypeWriter, target, writerState, variable));
+    }
+
+    /**
+     * @param writerState The writer state.
+     * @param variable The active variable, can be null.
+     * @return If the given variable can be written.
+     */
+    protected boolean isWritable(IPartStateWriter writerState, @Nullable IVariable variable) {
+        return variable != null
                 && writerState.getErrors(this).isEmpty()
-                && getValueType().correspondsTo(variable.getType())) {
+                && getValueType().correspondsTo(variable.getType());
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void updateActivationAndWrite(IPartTypeWriter partTypeWriter, PartTarget target,
+                                            IPartStateWriter writerState, @Nullable IVariable variable) {
+        if(isWritable(writerState, variable)) {
             if(writerState.isDeactivated() || writerState.checkAndResetFirstTick()) {
                 onActivate(partTypeWriter, target, writerState);
             }
-            try {
-                write(partTypeWriter, target, writerState, variable);
-            } catch (EvaluationException e) {
-                writerState.addError(this, new L10NHelpers.UnlocalizedString(e.getLocalizedMessage()));
-                writerState.setDeactivated(true);
-            }
+            writeOrDeactivate(partTypeWriter, target, writerState, variable);
         } else if(!writerState.isDeactivated()) {
             onDeactivate(partTypeWriter, target, writerState);
         }
     }
 
+    @SuppressWarnings("unchecked")
+    protected void writeOrDeactivate(IPartTypeWriter partTypeWriter, PartTarget target, IPartStateWriter writerState,
+                                     IVariable variable) {
+        try {
+            write(partTypeWriter, target, writerState, variable);
+        } catch (EvaluationException e) {
+            writerState.addError(this, new L10NHelpers.UnlocalizedString(e.getLocalizedMessage()));
+            writerState.setDeactivated(true);
+        }
+    }
+
     @Override
     public <P extends IPartTypeWriter<P, S>, S extends IPartStateWriter<P>> void onActivate(P partType, PartTarget target, S state) {
         state.setDeactivated(false);
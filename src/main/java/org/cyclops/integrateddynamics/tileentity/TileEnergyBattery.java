@@ -13,6 +13,7 @@ import org.cyclops.integrateddynamics.capability.energystorage.IEnergyStorageCap
 import org.cyclops.integrateddynamics.capability.networkelementprovider.NetworkElementProviderConfig;
 import org.cyclops.integrateddynamics.capability.networkelementprovider.NetworkElementProviderSingleton;
 import org.cyclops.integrateddynamics.core.helper.EnergyHelpers;
+import org.cyclops.integrateddynamics.core.network.NetworkTickPhases;
 import org.cyclops.integrateddynamics.core.tileentity.TileCableConnectable;
 import org.cyclops.integrateddynamics.network.EnergyBatteryNetworkElement;
 
@@ -70,7 +71,7 @@ public class TileEnergyBattery extends TileCableConnectable implements IEnergySt
             int lastEnergy = this.energy;
             if (lastEnergy != energy) {
                 this.energy = energy;
-                sendUpdate();
+                NetworkTickPhases.apply(this::sendUpdate);
             }
         }
     }
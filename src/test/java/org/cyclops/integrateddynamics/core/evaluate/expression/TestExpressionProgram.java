@@ -0,0 +1,116 @@
+package org.cyclops.integrateddynamics.core.evaluate.expression;
+
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.expression.ILazyExpressionValueCache;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableBoolean;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeBoolean;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test if linked expressions give the same results as interpreted expressions.
+ * @author rubensworks
+ */
+public class TestExpressionProgram {
+
+    private DummyVariableInteger i3;
+    private DummyVariableInteger i5;
+    private DummyVariableBoolean bTrue;
+    private DummyVariableBoolean bFalse;
+
+    @Before
+    public void before() {
+        i3 = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(3));
+        i5 = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(5));
+        bTrue = new DummyVariableBoolean(ValueTypeBoolean.ValueBoolean.of(true));
+        bFalse = new DummyVariableBoolean(ValueTypeBoolean.ValueBoolean.of(false));
+    }
+
+    protected LazyExpression<ValueTypeInteger.ValueInteger> createExpression(ILazyExpressionValueCache cache) {
+        LazyExpression increment = new LazyExpression(1, Operators.INTEGER_INCREMENT, new IVariable[]{i3}, cache);
+        LazyExpression modulus = new LazyExpression(2, Operators.INTEGER_MODULUS, new IVariable[]{i5, increment}, cache);
+        return new LazyExpression(3, Operators.INTEGER_MODULUS, new IVariable[]{increment, modulus}, cache);
+    }
+
+    @Test
+    public void testLinkedSameAsInterpreted() throws EvaluationException {
+        LazyExpression<ValueTypeInteger.ValueInteger> interpreted = createExpression(new DummyValueCache());
+        LazyExpression<ValueTypeInteger.ValueInteger> linked = createExpression(new DummyValueCache()).link();
+        assertThat("4 % (5 % 4) = 0", interpreted.getValue().getRawValue(), is(0));
+        assertThat("linked equals interpreted", linked.getValue().getRawValue(), is(0));
+    }
+
+    @Test
+    public void testLinkSharedExpressionsOnce() {
+        assertThat("shared expressions get one slot", ExpressionProgram.link(createExpression(new DummyValueCache())).size(), is(3));
+    }
+
+    @Test
+    public void testLinkedInvalidation() throws EvaluationException {
+        LazyExpression<ValueTypeInteger.ValueInteger> linked = createExpression(new DummyValueCache()).link();
+        assertThat("4 % (5 % 4) = 0", linked.getValue().getRawValue(), is(0));
+        i3.setValue(ValueTypeInteger.ValueInteger.of(5));
+        linked.getInput()[0].invalidate();
+        assertThat("6 % (5 % 6) = 1", linked.getValue().getRawValue(), is(1));
+    }
+
+    @Test
+    public void testLinkedShortCircuiting() throws EvaluationException {
+        LazyExpression<ValueTypeBoolean.ValueBoolean> linked = new LazyExpression<ValueTypeBoolean.ValueBoolean>(1,
+                Operators.LOGICAL_AND, new IVariable[]{bFalse, bTrue}, new DummyValueCache()).link();
+        assertThat("false && true = false", linked.getValue().getRawValue(), is(false));
+        assertThat("second input was not fetched", bTrue.isFetched(), is(false));
+    }
+
+    @Test
+    public void testCategoryInputsNotTrusted() {
+        assertThat("integer inputs are trusted", ExpressionProgram.isTrusted(
+                new LazyExpression(1, Operators.INTEGER_MODULUS, new IVariable[]{i3, i5}, new DummyValueCache())), is(true));
+        assertThat("category inputs are not trusted", ExpressionProgram.isTrusted(
+                new LazyExpression(1, Operators.GENERAL_IDENTITY, new IVariable[]{
+                        new LazyExpression(2, Operators.GENERAL_CHOICE, new IVariable[]{bTrue, i3, i5}, new DummyValueCache())
+                }, new DummyValueCache())), is(false));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testLinkedInvalidInputType() throws EvaluationException {
+        new LazyExpression<ValueTypeBoolean.ValueBoolean>(1,
+                Operators.LOGICAL_AND, new IVariable[]{bFalse, i3}, new DummyValueCache()).link().getValue();
+    }
+
+    private static class DummyValueCache implements ILazyExpressionValueCache {
+
+        private final TIntObjectMap<IValue> values = new TIntObjectHashMap<>();
+
+        @Override
+        public void setValue(int id, IValue value) {
+            values.put(id, value);
+        }
+
+        @Override
+        public boolean hasValue(int id) {
+            return values.containsKey(id);
+        }
+
+        @Override
+        public IValue getValue(int id) {
+            return values.get(id);
+        }
+
+        @Override
+        public void removeValue(int id) {
+            values.remove(id);
+        }
+    }
+
+}
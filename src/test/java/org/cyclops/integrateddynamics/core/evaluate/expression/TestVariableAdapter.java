@@ -0,0 +1,82 @@
+package org.cyclops.integrateddynamics.core.evaluate.expression;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.expression.VariableAdapter;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeBoolean;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the dependent tracking of variables.
+ * @author rubensworks
+ */
+public class TestVariableAdapter {
+
+    private static class CountingVariable extends VariableAdapter<ValueTypeBoolean.ValueBoolean> {
+
+        private int invalidations = 0;
+
+        @Override
+        public void invalidate() {
+            invalidations++;
+            super.invalidate();
+        }
+
+        @Override
+        public IValueType<ValueTypeBoolean.ValueBoolean> getType() {
+            return ValueTypes.BOOLEAN;
+        }
+
+        @Override
+        public ValueTypeBoolean.ValueBoolean getValue() throws EvaluationException {
+            return ValueTypeBoolean.ValueBoolean.of(true);
+        }
+    }
+
+    protected void testDependents(int count) {
+        CountingVariable input = new CountingVariable();
+        CountingVariable[] dependents = new CountingVariable[count];
+        for (int i = 0; i < count; i++) {
+            dependents[i] = new CountingVariable();
+        }
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (CountingVariable dependent : dependents) {
+                input.addDependent(dependent);
+            }
+        }
+        input.invalidate();
+        for (CountingVariable dependent : dependents) {
+            assertThat("each dependent is invalidated once", dependent.invalidations, is(1));
+        }
+        input.invalidate();
+        for (CountingVariable dependent : dependents) {
+            assertThat("dependents are forgotten after invalidation", dependent.invalidations, is(1));
+        }
+    }
+
+    @Test
+    public void testFewDependents() {
+        testDependents(3);
+    }
+
+    @Test
+    public void testManyDependents() {
+        testDependents(100);
+    }
+
+    @Test
+    public void testCyclicDependents() {
+        CountingVariable a = new CountingVariable();
+        CountingVariable b = new CountingVariable();
+        a.addDependent(b);
+        b.addDependent(a);
+        a.invalidate();
+        assertThat("a is invalidated twice", a.invalidations, is(2));
+        assertThat("b is invalidated once", b.invalidations, is(1));
+    }
+
+}
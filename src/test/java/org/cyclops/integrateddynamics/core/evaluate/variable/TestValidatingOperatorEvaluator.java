@@ -0,0 +1,190 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+import org.cyclops.integrateddynamics.core.evaluate.operator.ValidatingOperatorEvaluator;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the repeated evaluation of operators with cached type validation.
+ * @author rubensworks
+ */
+public class TestValidatingOperatorEvaluator {
+
+    private DummyVariableInteger i0;
+    private DummyVariableInteger i1;
+    private DummyVariableInteger i2;
+    private DummyVariableString sx;
+
+    private DummyVariableOperator oArithmeticAddition;
+    private DummyVariableList lintegers;
+    private DummyVariableList lmixed;
+
+    /**
+     * An evaluator that counts its type validations.
+     */
+    private static class CountingEvaluator extends ValidatingOperatorEvaluator {
+
+        private int validations = 0;
+
+        public CountingEvaluator(IOperator operator, boolean curry) {
+            super(operator, curry);
+        }
+
+        @Override
+        protected void validate(IValue[] values) throws EvaluationException {
+            validations++;
+            super.validate(values);
+        }
+    }
+
+    @BeforeClass
+    public static void beforeClass() {
+        ValueTypeListProxyFactories.load();
+    }
+
+    @Before
+    public void before() {
+        i0 = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(0));
+        i1 = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(1));
+        i2 = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(2));
+        sx = new DummyVariableString(ValueTypeString.ValueString.of("x"));
+
+        oArithmeticAddition = new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.ARITHMETIC_ADDITION));
+        lintegers = new DummyVariableList(ValueTypeList.ValueList.ofAll(i0.getValue(), i1.getValue(), i2.getValue()));
+        lmixed = new DummyVariableList(ValueTypeList.ValueList.ofAll(i0.getValue(), i1.getValue(), sx.getValue()));
+    }
+
+    @Test
+    public void testHomogeneousValidatedOnce() throws EvaluationException {
+        CountingEvaluator evaluator = new CountingEvaluator(Operators.INTEGER_INCREMENT, true);
+        IValueTypeListProxy list = lintegers.getValue().getRawValue();
+        int sum = 0;
+        for (int i = 0; i < list.getLength(); i++) {
+            sum += ((ValueTypeInteger.ValueInteger) evaluator.evaluate(list.get(i))).getRawValue();
+        }
+        assertThat("sum([0, 1, 2]++) = 6", sum, is(6));
+        assertThat("a homogeneous list is validated once", evaluator.validations, is(1));
+    }
+
+    @Test
+    public void testHeterogeneousValidatedOnTypeChange() throws EvaluationException {
+        CountingEvaluator evaluator = new CountingEvaluator(Operators.RELATIONAL_EQUALS, true);
+        assertThat("0 == 0", ((ValueTypeBoolean.ValueBoolean) evaluator.evaluate(i0.getValue(), i0.getValue())).getRawValue(), is(true));
+        assertThat("0 == 1", ((ValueTypeBoolean.ValueBoolean) evaluator.evaluate(i0.getValue(), i1.getValue())).getRawValue(), is(false));
+        assertThat("x == x", ((ValueTypeBoolean.ValueBoolean) evaluator.evaluate(sx.getValue(), sx.getValue())).getRawValue(), is(true));
+        assertThat("types are validated again when they change", evaluator.validations, is(2));
+        try {
+            evaluator.evaluate(i0.getValue(), sx.getValue());
+        } catch (EvaluationException e) {
+            assertThat("the invalid types were validated", evaluator.validations, is(3));
+            return;
+        }
+        throw new AssertionError("Values with incompatible types were not rejected");
+    }
+
+    @Test
+    public void testHeterogeneousInvalidType() throws EvaluationException {
+        CountingEvaluator evaluator = new CountingEvaluator(Operators.INTEGER_INCREMENT, true);
+        assertThat("0++ = 1", ((ValueTypeInteger.ValueInteger) evaluator.evaluate(i0.getValue())).getRawValue(), is(1));
+        try {
+            evaluator.evaluate(sx.getValue());
+        } catch (EvaluationException e) {
+            assertThat("the invalid type was validated", evaluator.validations, is(2));
+            return;
+        }
+        throw new AssertionError("A later element with an invalid type was not rejected");
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testHeterogeneousInvalidTypeMap() throws EvaluationException {
+        DummyVariableOperator oIntegerIncrement = new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.INTEGER_INCREMENT));
+        ValueTypeList.ValueList mapped = (ValueTypeList.ValueList) Operators.OPERATOR_MAP.evaluate(new IVariable[]{oIntegerIncrement, lmixed});
+        assertThat("map(++, [0, 1, x])[1] = 2", ((ValueTypeInteger.ValueInteger) mapped.getRawValue().get(1)).getRawValue(), is(2));
+        mapped.getRawValue().get(2);
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testHeterogeneousInvalidTypeReduce() throws EvaluationException {
+        Operators.OPERATOR_REDUCE.evaluate(new IVariable[]{oArithmeticAddition, lmixed, i0});
+    }
+
+    @Test
+    public void testCurrying() throws EvaluationException {
+        CountingEvaluator evaluator = new CountingEvaluator(Operators.RELATIONAL_EQUALS, true);
+        IValue curried = evaluator.evaluate(i1.getValue());
+        assertThat("too few values give a curried operator", curried, instanceOf(ValueTypeOperator.ValueOperator.class));
+        IValue result = ValueHelpers.evaluateOperator(((ValueTypeOperator.ValueOperator) curried).getRawValue(), i1.getValue());
+        assertThat("(1 ==)(1)", ((ValueTypeBoolean.ValueBoolean) result).getRawValue(), is(true));
+        assertThat("currying does not validate", evaluator.validations, is(0));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testWrongArityNoCurrying() throws EvaluationException {
+        new ValidatingOperatorEvaluator(Operators.RELATIONAL_EQUALS, false).evaluate(i1.getValue());
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testWrongArityTooManyNoCurrying() throws EvaluationException {
+        new ValidatingOperatorEvaluator(Operators.INTEGER_INCREMENT, false).evaluate(i1.getValue(), i2.getValue());
+    }
+
+    @Test
+    public void testWrongArityAfterValidation() throws EvaluationException {
+        ValidatingOperatorEvaluator evaluator = new ValidatingOperatorEvaluator(Operators.RELATIONAL_EQUALS, false);
+        evaluator.evaluate(i1.getValue(), i1.getValue());
+        try {
+            evaluator.evaluate(i1.getValue());
+        } catch (EvaluationException e) {
+            return;
+        }
+        throw new AssertionError("A wrong number of values was not rejected after an earlier validation");
+    }
+
+    @Test
+    public void testConcurrentInvalidTypesRejected() throws InterruptedException {
+        ValidatingOperatorEvaluator evaluator = new ValidatingOperatorEvaluator(Operators.RELATIONAL_EQUALS, false);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicReference<Throwable> unexpected = new AtomicReference<>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 10000; i++) {
+                        // Valid inputs of different types keep replacing the validated types.
+                        evaluator.evaluate(i0.getValue(), i1.getValue());
+                        evaluator.evaluate(sx.getValue(), sx.getValue());
+                        try {
+                            evaluator.evaluate(i0.getValue(), sx.getValue());
+                            accepted.incrementAndGet();
+                        } catch (EvaluationException e) {
+                            // Expected
+                        }
+                    }
+                } catch (Throwable e) {
+                    unexpected.set(e);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(unexpected.get() == null, is(true));
+        assertThat("values with incompatible types are never accepted", accepted.get(), is(0));
+    }
+
+}
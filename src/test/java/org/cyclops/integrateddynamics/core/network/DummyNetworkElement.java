@@ -0,0 +1,62 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+
+/**
+ * A dummy network element that is ordered by its id.
+ * @author rubensworks
+ */
+public class DummyNetworkElement extends NetworkElementBase {
+
+    private final int id;
+
+    public DummyNetworkElement(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public void setPriorityAndChannel(INetwork network, int priority, int channel) {
+
+    }
+
+    @Override
+    public int getPriority() {
+        return 0;
+    }
+
+    @Override
+    public int getChannel() {
+        return 0;
+    }
+
+    @Override
+    public boolean canRevalidate(INetwork network) {
+        return true;
+    }
+
+    @Override
+    public int compareTo(INetworkElement o) {
+        return Integer.compare(id, ((DummyNetworkElement) o).id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof DummyNetworkElement && ((DummyNetworkElement) obj).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "DummyNetworkElement{" + id + "}";
+    }
+
+}
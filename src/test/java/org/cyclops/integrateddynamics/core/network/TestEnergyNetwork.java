@@ -0,0 +1,242 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.energy.IEnergyStorage;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.network.IEnergyConsumingNetworkElement;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.cyclops.integrateddynamics.api.part.PartPos;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the consumption settlement of the energy network.
+ * @author rubensworks
+ */
+public class TestEnergyNetwork {
+
+    private int oldConsumptionMultiplier;
+    private int oldRateLimit;
+    private DummyEnergyNetwork network;
+
+    @Before
+    public void beforeEach() {
+        oldConsumptionMultiplier = GeneralConfig.energyConsumptionMultiplier;
+        oldRateLimit = GeneralConfig.energyRateLimit;
+        GeneralConfig.energyConsumptionMultiplier = 1;
+        GeneralConfig.energyRateLimit = Integer.MAX_VALUE;
+        network = new DummyEnergyNetwork();
+    }
+
+    @After
+    public void afterEach() {
+        GeneralConfig.energyConsumptionMultiplier = oldConsumptionMultiplier;
+        GeneralConfig.energyRateLimit = oldRateLimit;
+    }
+
+    protected DummyBattery addBattery(int x, int channel, int stored, int maxExtract) {
+        DummyBattery battery = new DummyBattery(stored, maxExtract);
+        PartPos pos = PartPos.of(DimPos.of(0, new BlockPos(x, 0, 0)), null);
+        network.storages.put(pos, battery);
+        network.addPosition(pos, 0, channel);
+        return battery;
+    }
+
+    protected List<DummyConsumer> createConsumers(int count, int channel, int rate) {
+        List<DummyConsumer> consumers = Lists.newArrayList();
+        for (int i = 0; i < count; i++) {
+            consumers.add(new DummyConsumer(consumers.size(), channel, rate));
+        }
+        return consumers;
+    }
+
+    /**
+     * Run the energy part of a network tick, as done by {@link Network#update()}.
+     * @param consumers The elements that are due, in their update order.
+     * @return The number of elements that could be updated.
+     */
+    protected int tick(List<? extends INetworkElement> consumers) {
+        int updated = 0;
+        network.update();
+        for (INetworkElement consumer : consumers) {
+            if (network.canUpdate(consumer)) {
+                network.postUpdate(consumer);
+                updated++;
+            } else {
+                network.onSkipUpdate(consumer);
+            }
+        }
+        network.postUpdateElements();
+        return updated;
+    }
+
+    @Test
+    public void testConsumptionBeyondSingleExtraction() {
+        DummyBattery battery = addBattery(0, 0, 100000, 2000);
+        List<DummyConsumer> consumers = createConsumers(10, 0, 1000);
+
+        assertThat("the consumption is not limited by the extraction limit of a single call",
+                tick(consumers), is(10));
+        assertThat(battery.stored, is(90000));
+    }
+
+    @Test
+    public void testConsumptionStarved() {
+        DummyBattery battery = addBattery(0, 0, 2500, 2000);
+        List<DummyConsumer> consumers = createConsumers(4, 0, 1000);
+
+        assertThat(tick(consumers), is(2));
+        assertThat(battery.stored, is(500));
+        assertThat(consumers.get(0).updated, is(true));
+        assertThat(consumers.get(1).updated, is(true));
+        assertThat(consumers.get(2).updated, is(false));
+        assertThat(consumers.get(3).updated, is(false));
+    }
+
+    @Test
+    public void testConsumptionStarvedWithoutResimulation() {
+        DummyBattery battery = addBattery(0, 0, 500, 2000);
+        List<DummyConsumer> consumers = createConsumers(5, 0, 1000);
+
+        assertThat(tick(consumers), is(0));
+        assertThat(battery.stored, is(500));
+        assertThat("the available energy is only determined again after energy was consumed",
+                battery.simulations, is(1));
+    }
+
+    @Test
+    public void testInterleavedChannels() {
+        DummyBattery battery0 = addBattery(0, 0, 10000, Integer.MAX_VALUE);
+        DummyBattery battery1 = addBattery(1, 1, 10000, Integer.MAX_VALUE);
+        List<DummyConsumer> consumers = Lists.newArrayList();
+        for (int i = 0; i < 10; i++) {
+            consumers.add(new DummyConsumer(i, i % 2, 100));
+        }
+
+        assertThat(tick(consumers), is(10));
+        assertThat(battery0.stored, is(9500));
+        assertThat(battery1.stored, is(9500));
+        assertThat("channels without shared storages are settled once", battery0.simulations, is(1));
+        assertThat("channels without shared storages are settled once", battery1.simulations, is(1));
+        assertThat(battery0.extractions, is(1));
+        assertThat(battery1.extractions, is(1));
+    }
+
+    @Test
+    public void testInterleavedChannelsSharedStorage() {
+        DummyBattery battery = addBattery(0, -1, 1000, Integer.MAX_VALUE);
+        List<DummyConsumer> consumers = Lists.newArrayList();
+        for (int i = 0; i < 4; i++) {
+            consumers.add(new DummyConsumer(i, i % 2, 300));
+        }
+
+        assertThat("energy of shared storages is not available to multiple channels at once",
+                tick(consumers), is(3));
+        assertThat(battery.stored, is(100));
+    }
+
+    public static class DummyEnergyNetwork extends EnergyNetwork {
+
+        private final Map<PartPos, IEnergyStorage> storages = Maps.newHashMap();
+
+        @Nullable
+        @Override
+        protected IEnergyStorage getEnergyStorage(PartPos pos, @Nullable PositionEnergy positionEnergy) {
+            return storages.get(pos);
+        }
+
+    }
+
+    public static class DummyBattery implements IEnergyStorage {
+
+        private final int maxExtract;
+        private int stored;
+        private int simulations = 0;
+        private int extractions = 0;
+
+        public DummyBattery(int stored, int maxExtract) {
+            this.stored = stored;
+            this.maxExtract = maxExtract;
+        }
+
+        @Override
+        public int receiveEnergy(int maxReceive, boolean simulate) {
+            return 0;
+        }
+
+        @Override
+        public int extractEnergy(int maxExtract, boolean simulate) {
+            int extracted = Math.min(stored, Math.min(maxExtract, this.maxExtract));
+            if (simulate) {
+                simulations++;
+            } else {
+                extractions++;
+                stored -= extracted;
+            }
+            return extracted;
+        }
+
+        @Override
+        public int getEnergyStored() {
+            return stored;
+        }
+
+        @Override
+        public int getMaxEnergyStored() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public boolean canExtract() {
+            return true;
+        }
+
+        @Override
+        public boolean canReceive() {
+            return false;
+        }
+
+    }
+
+    public static class DummyConsumer extends DummyNetworkElement implements IEnergyConsumingNetworkElement {
+
+        private final int channel;
+        private final int rate;
+        private boolean updated = false;
+
+        public DummyConsumer(int id, int channel, int rate) {
+            super(id);
+            this.channel = channel;
+            this.rate = rate;
+        }
+
+        @Override
+        public int getChannel() {
+            return channel;
+        }
+
+        @Override
+        public int getConsumptionRate() {
+            return rate;
+        }
+
+        @Override
+        public void postUpdate(INetwork network, boolean updated) {
+            this.updated = updated;
+        }
+
+    }
+
+}
@@ -0,0 +1,382 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkCarrier;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.cyclops.integrateddynamics.api.path.IPathElement;
+import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
+import org.cyclops.integrateddynamics.capability.network.NetworkCarrierDefault;
+import org.cyclops.integrateddynamics.core.path.Cluster;
+import org.cyclops.integrateddynamics.core.path.DummyPathElement;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the loading and the incremental modification of networks.
+ * @author rubensworks
+ */
+public class TestNetwork {
+
+    private static final DummyNetworkChunkIndex CHUNK_INDEX = new DummyNetworkChunkIndex();
+    private static final Map<DimPos, INetworkCarrier> CARRIERS = Maps.newHashMap();
+    private static final Map<DimPos, CountingElement> ELEMENTS = Maps.newHashMap();
+
+    @Before
+    public void beforeEach() {
+        CHUNK_INDEX.clear();
+        CHUNK_INDEX.loadedChunks.clear();
+        CARRIERS.clear();
+        ELEMENTS.clear();
+    }
+
+    protected static DimPos pos(int x, int z) {
+        return DimPos.of(0, new BlockPos(x, 64, z));
+    }
+
+    protected static NBTTagCompound createNetworkTag(DimPos... positions) {
+        NBTTagList list = new NBTTagList();
+        for (DimPos position : positions) {
+            NBTTagCompound elementTag = new NBTTagCompound();
+            elementTag.setInteger("dimension", position.getDimensionId());
+            elementTag.setLong("pos", position.getBlockPos().toLong());
+            list.appendTag(elementTag);
+        }
+        NBTTagCompound clusterTag = new NBTTagCompound();
+        clusterTag.setTag("list", list);
+        NBTTagCompound tag = new NBTTagCompound();
+        tag.setTag("baseCluster", clusterTag);
+        return tag;
+    }
+
+    /**
+     * Create a cable at the given position that carries a network and provides a single network element.
+     * @param x The x coordinate.
+     * @param z The z coordinate.
+     * @return The path element of the cable.
+     */
+    protected static DummyPathElement cable(int x, int z) {
+        DummyPathElement pathElement = new DummyPathElement(x, z);
+        CARRIERS.put(pathElement.getPosition(), new NetworkCarrierDefault());
+        ELEMENTS.put(pathElement.getPosition(), new CountingElement(ELEMENTS.size()));
+        return pathElement;
+    }
+
+    protected static CountingElement element(DummyPathElement pathElement) {
+        return ELEMENTS.get(pathElement.getPosition());
+    }
+
+    @Nullable
+    protected static INetwork carried(DummyPathElement pathElement) {
+        return CARRIERS.get(pathElement.getPosition()).getNetwork();
+    }
+
+    /**
+     * Create an initialized network for the given connected cables.
+     * @param pathElements The path elements of the cables.
+     * @return The network.
+     */
+    protected static CableNetwork network(DummyPathElement... pathElements) {
+        CableNetwork network = createNetwork(pathElements);
+        network.initialize();
+        return network;
+    }
+
+    protected static CableNetwork createNetwork(DummyPathElement... pathElements) {
+        Cluster cluster = new Cluster();
+        for (DummyPathElement pathElement : pathElements) {
+            cluster.add(pathElement.sided());
+        }
+        return new CableNetwork(cluster);
+    }
+
+    @Nullable
+    protected static Network join(DummyPathElement pathElement) {
+        return Network.joinNetworkSetup(pathElement.sided(),
+                sidedPathElement -> (Network) CARRIERS.get(sidedPathElement.getPathElement().getPosition()).getNetwork());
+    }
+
+    /**
+     * Run the compute phase of a network tick for the given network.
+     * @param network The network.
+     * @return The mutations that would be applied in the apply phase.
+     */
+    protected static List<Runnable> computeUpdate(Network network) {
+        List<Runnable> mutations = Lists.newArrayList();
+        Throwable error = NetworkTickPhases.compute(network, Network::update, mutations);
+        assertThat(error == null, is(true));
+        return mutations;
+    }
+
+    @Test
+    public void testClusterPositions() {
+        assertThat(Cluster.getPositions(createNetworkTag(pos(0, 0), pos(100, 200)).getCompoundTag("baseCluster")),
+                is(Lists.newArrayList(pos(0, 0), pos(100, 200))));
+    }
+
+    @Test
+    public void testUnloadedNetworkIsNotRead() {
+        UnreadNetwork network = new UnreadNetwork();
+        network.fromNBT(createNetworkTag(pos(0, 0), pos(100, 0)));
+
+        List<Runnable> mutations = computeUpdate(network);
+        assertThat("no tiles are looked up for networks in unloaded chunks", network.reads, is(0));
+        assertThat("no tiles are looked up for networks in unloaded chunks", network.derivations, is(0));
+        assertThat(mutations.size(), is(1));
+        mutations.forEach(Runnable::run);
+        assertThat(network.hibernations, is(1));
+
+        assertThat("the stored positions are indexed, so that the network is woken up once a chunk is loaded",
+                CHUNK_INDEX.getNetworks(pos(100, 0)).contains(network), is(true));
+
+        computeUpdate(network);
+        assertThat(network.reads, is(0));
+        assertThat(network.derivations, is(0));
+    }
+
+    @Test
+    public void testLoadedNetworkIsRead() {
+        UnreadNetwork network = new UnreadNetwork();
+        network.fromNBT(createNetworkTag(pos(0, 0), pos(100, 0)));
+        computeUpdate(network);
+        assertThat(network.reads, is(0));
+
+        CHUNK_INDEX.load(100 >> 4, 0);
+        computeUpdate(network);
+        assertThat(network.reads, is(1));
+        assertThat("the stored positions are replaced by the positions of the read path elements",
+                CHUNK_INDEX.getNetworks(pos(0, 0)).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testJoinSingleNetwork() {
+        DummyPathElement p0 = cable(0, 0);
+        DummyPathElement p1 = cable(1, 0);
+        DummyPathElement.connect(p0, p1);
+        CableNetwork network = network(p0, p1);
+        assertThat(element(p0).additions, is(1));
+        assertThat(element(p0).alive, is(1));
+
+        DummyPathElement p2 = cable(2, 0);
+        DummyPathElement.connect(p1, p2);
+        int derivations = network.derivations;
+        assertThat(join(p2) == network, is(true));
+
+        assertThat(network.getCablesCount(), is(3));
+        assertThat(network.getElements().contains(element(p2)), is(true));
+        assertThat(carried(p2) == network, is(true));
+        assertThat("only the new path element is derived", network.derivations - derivations, is(1));
+        assertThat("existing elements are untouched", element(p0).additions, is(1));
+        assertThat("existing elements are untouched", element(p0).alive, is(1));
+        assertThat("existing elements are untouched", element(p1).additions, is(1));
+        assertThat("existing elements are untouched", element(p1).alive, is(1));
+        assertThat(element(p2).additions, is(1));
+        assertThat(element(p2).alive, is(1));
+    }
+
+    @Test
+    public void testJoinBridgeNetworks() {
+        DummyPathElement p0 = cable(0, 0);
+        DummyPathElement p1 = cable(1, 0);
+        DummyPathElement p2 = cable(2, 0);
+        DummyPathElement.connect(p0, p1);
+        DummyPathElement.connect(p1, p2);
+        CableNetwork large = network(p0, p1, p2);
+        DummyPathElement p4 = cable(4, 0);
+        CableNetwork small = network(p4);
+
+        DummyPathElement p3 = cable(3, 0);
+        DummyPathElement.connect(p2, p3);
+        DummyPathElement.connect(p3, p4);
+        int derivations = large.derivations;
+        assertThat("the largest network is kept", join(p3) == large, is(true));
+
+        assertThat("the smaller network is killed", small.isKilled(), is(true));
+        assertThat(small.getCablesCount(), is(0));
+        assertThat(large.isKilled(), is(false));
+        assertThat(large.getCablesCount(), is(5));
+        assertThat(carried(p3) == large, is(true));
+        assertThat(carried(p4) == large, is(true));
+        assertThat(large.getElements().contains(element(p4)), is(true));
+        assertThat(small.getElements().contains(element(p4)), is(false));
+        assertThat(element(p4).removals, is(1));
+        assertThat(element(p4).additions, is(2));
+        assertThat("only the moved and the new path element are derived", large.derivations - derivations, is(2));
+        assertThat("existing elements of the largest network are untouched", element(p0).additions, is(1));
+        assertThat("existing elements of the largest network are untouched", element(p0).alive, is(1));
+    }
+
+    @Test
+    public void testJoinUninitializedNeighbour() {
+        DummyPathElement p0 = cable(0, 0);
+        CableNetwork initialized = network(p0);
+        DummyPathElement p1 = cable(2, 0);
+        CableNetwork uninitialized = createNetwork(p1);
+
+        DummyPathElement p2 = cable(1, 0);
+        DummyPathElement.connect(p0, p2);
+        DummyPathElement.connect(p2, p1);
+        assertThat("a new network must be initialized when a neighbour has no initialized network",
+                join(p2) == null, is(true));
+
+        assertThat(initialized.getCablesCount(), is(1));
+        assertThat(uninitialized.getCablesCount(), is(1));
+        assertThat(initialized.isKilled(), is(false));
+        assertThat(uninitialized.isKilled(), is(false));
+        assertThat(carried(p2) == null, is(true));
+        assertThat(element(p2).additions, is(0));
+    }
+
+    @Test
+    public void testJoinNeighbourWithoutNetwork() {
+        DummyPathElement p0 = cable(0, 0);
+        CableNetwork network = network(p0);
+        DummyPathElement p1 = cable(2, 0);
+
+        DummyPathElement p2 = cable(1, 0);
+        DummyPathElement.connect(p0, p2);
+        DummyPathElement.connect(p2, p1);
+        assertThat("a new network must be initialized when a neighbour has no network",
+                join(p2) == null, is(true));
+        assertThat(network.getCablesCount(), is(1));
+        assertThat(carried(p2) == null, is(true));
+    }
+
+    /**
+     * A chunk index in which only the chunks of dimension 0 that were explicitly loaded are loaded.
+     */
+    public static class DummyNetworkChunkIndex extends NetworkChunkIndex {
+
+        private final Set<Long> loadedChunks = Sets.newHashSet();
+
+        public void load(int chunkX, int chunkZ) {
+            loadedChunks.add(ChunkPos.asLong(chunkX, chunkZ));
+        }
+
+        @Override
+        protected boolean isChunkLoaded(int dimension, long chunkKey) {
+            return dimension == 0 && loadedChunks.contains(chunkKey);
+        }
+    }
+
+    /**
+     * A network that counts the operations that look up tiles in the world, instead of executing them.
+     */
+    public static class UnreadNetwork extends Network {
+
+        private int reads = 0;
+        private int derivations = 0;
+        private int hibernations = 0;
+
+        @Override
+        protected NetworkChunkIndex getChunkIndex() {
+            return CHUNK_INDEX;
+        }
+
+        @Override
+        public void fromNBTEffective(NBTTagCompound tag) {
+            // Reading a cluster looks up the path element of each stored position.
+            reads++;
+        }
+
+        @Override
+        protected void deriveNetworkElements(ISidedPathElement sidedPathElement,
+                                             @Nullable List<INetworkElement> addedElements) {
+            derivations++;
+        }
+
+        @Override
+        protected void hibernateInStorage() {
+            hibernations++;
+        }
+
+    }
+
+    /**
+     * A network of cables of which the carriers and network elements are stored in this test instead of the world.
+     */
+    public static class CableNetwork extends Network {
+
+        private int derivations = 0;
+
+        public CableNetwork(Cluster pathElements) {
+            super(pathElements);
+        }
+
+        @Override
+        protected NetworkChunkIndex getChunkIndex() {
+            return CHUNK_INDEX;
+        }
+
+        @Override
+        protected void deriveNetworkElements(ISidedPathElement sidedPathElement,
+                                             @Nullable List<INetworkElement> addedElements) {
+            derivations++;
+            super.deriveNetworkElements(sidedPathElement, addedElements);
+        }
+
+        @Nullable
+        @Override
+        protected INetworkCarrier getNetworkCarrier(IPathElement pathElement, @Nullable EnumFacing side) {
+            return CARRIERS.get(pathElement.getPosition());
+        }
+
+        @Nullable
+        @Override
+        protected Collection<INetworkElement> createNetworkElements(IPathElement pathElement, @Nullable EnumFacing side) {
+            INetworkElement element = ELEMENTS.get(pathElement.getPosition());
+            return element != null ? Collections.singleton(element) : null;
+        }
+
+    }
+
+    /**
+     * A network element that counts how often it is added to and removed from a network.
+     */
+    public static class CountingElement extends DummyNetworkElement {
+
+        private int additions = 0;
+        private int removals = 0;
+        private int alive = 0;
+
+        public CountingElement(int id) {
+            super(id);
+        }
+
+        @Override
+        public boolean onNetworkAddition(INetwork network) {
+            additions++;
+            return true;
+        }
+
+        @Override
+        public void onNetworkRemoval(INetwork network) {
+            removals++;
+        }
+
+        @Override
+        public void afterNetworkAlive(INetwork network) {
+            alive++;
+        }
+
+    }
+
+}
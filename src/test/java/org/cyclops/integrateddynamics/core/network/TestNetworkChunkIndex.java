@@ -0,0 +1,175 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the spatial index from chunks to networks.
+ * @author rubensworks
+ */
+public class TestNetworkChunkIndex {
+
+    private DummyNetworkChunkIndex index;
+    private INetwork n0;
+    private INetwork n1;
+
+    /**
+     * A chunk index in which only the chunks of dimension 0 that were explicitly loaded are loaded.
+     */
+    private static class DummyNetworkChunkIndex extends NetworkChunkIndex {
+
+        private final Set<Long> loadedChunks = Sets.newHashSet();
+
+        public void load(int chunkX, int chunkZ) {
+            loadedChunks.add(ChunkPos.asLong(chunkX, chunkZ));
+        }
+
+        public void unload(int chunkX, int chunkZ) {
+            loadedChunks.remove(ChunkPos.asLong(chunkX, chunkZ));
+        }
+
+        @Override
+        protected boolean isChunkLoaded(int dimension, long chunkKey) {
+            return dimension == 0 && loadedChunks.contains(chunkKey);
+        }
+    }
+
+    /**
+     * @return A network that is only equal to itself.
+     */
+    protected static INetwork createNetwork() {
+        return (INetwork) Proxy.newProxyInstance(INetwork.class.getClassLoader(), new Class[]{INetwork.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "DummyNetwork@" + System.identityHashCode(proxy);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    protected static DimPos pos(int x, int z) {
+        return DimPos.of(0, new BlockPos(x, 64, z));
+    }
+
+    @Before
+    public void beforeEach() {
+        index = new DummyNetworkChunkIndex();
+        n0 = createNetwork();
+        n1 = createNetwork();
+    }
+
+    @Test
+    public void testGetNetworks() {
+        index.add(n0, pos(0, 0));
+        index.add(n1, pos(15, 15));
+        index.add(n1, pos(16, 0));
+        assertThat(index.getNetworks(pos(1, 1)).size(), is(2));
+        assertThat(index.getNetworks(pos(17, 0)), is(Lists.newArrayList(n1)));
+        assertThat(index.getNetworks(pos(-1, 0)).isEmpty(), is(true));
+        assertThat(index.getNetworks(DimPos.of(1, new BlockPos(0, 64, 0))).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testReferenceCounting() {
+        index.add(n0, pos(0, 0));
+        index.add(n0, pos(1, 0));
+        index.add(n0, pos(2, 0));
+        index.remove(n0, pos(0, 0));
+        index.remove(n0, pos(1, 0));
+        assertThat("the chunk still contains a path element", index.getNetworks(pos(0, 0)),
+                is(Lists.newArrayList(n0)));
+        index.remove(n0, pos(2, 0));
+        assertThat(index.getNetworks(pos(0, 0)).isEmpty(), is(true));
+        // Removing more positions than were added must not break the index.
+        index.remove(n0, pos(2, 0));
+        index.add(n0, pos(3, 0));
+        assertThat(index.getNetworks(pos(0, 0)), is(Lists.newArrayList(n0)));
+    }
+
+    @Test
+    public void testRemoveNetwork() {
+        index.add(n0, pos(0, 0));
+        index.add(n0, pos(1, 0));
+        index.add(n0, pos(32, 0));
+        index.add(n1, pos(0, 0));
+        index.removeNetwork(n0, Lists.newArrayList(pos(0, 0), pos(1, 0), pos(32, 0)));
+        index.removeNetwork(n0, Lists.newArrayList(pos(0, 0)));
+        assertThat(index.getNetworks(pos(0, 0)), is(Lists.newArrayList(n1)));
+        assertThat(index.getNetworks(pos(32, 0)).isEmpty(), is(true));
+        index.load(0, 0);
+        index.load(2, 0);
+        assertThat(index.hasLoadedChunks(n0, 0, null), is(false));
+    }
+
+    @Test
+    public void testHasLoadedChunks() {
+        index.add(n0, pos(0, 0));
+        index.add(n0, pos(32, 0));
+        assertThat(index.hasLoadedChunks(n0, 0, null), is(false));
+        index.load(2, 0);
+        assertThat(index.hasLoadedChunks(n0, 0, null), is(true));
+        assertThat("the excluded chunk is considered unloaded",
+                index.hasLoadedChunks(n0, 0, new ChunkPos(2, 0)), is(false));
+        assertThat("the exclusion only applies to its own dimension",
+                index.hasLoadedChunks(n0, 1, new ChunkPos(2, 0)), is(true));
+        index.unload(2, 0);
+        index.load(0, 0);
+        assertThat(index.hasLoadedChunks(n0, 0, new ChunkPos(2, 0)), is(true));
+        assertThat("a network without path elements has no loaded chunks", index.hasLoadedChunks(n1, 0, null),
+                is(false));
+    }
+
+    @Test
+    public void testHasLoadedChunksAfterRemove() {
+        index.add(n0, pos(0, 0));
+        index.add(n0, pos(32, 0));
+        index.load(0, 0);
+        index.remove(n0, pos(0, 0));
+        assertThat(index.hasLoadedChunks(n0, 0, null), is(false));
+    }
+
+    @Test
+    public void testIsFullyLoaded() {
+        index.add(n0, pos(0, 0));
+        for (int x = -1; x <= 1; x++) {
+            for (int z = -1; z <= 1; z++) {
+                if (x != 1 || z != 1) {
+                    index.load(x, z);
+                }
+            }
+        }
+        assertThat("a neighbouring chunk is not loaded", index.isFullyLoaded(n0), is(false));
+        index.load(1, 1);
+        assertThat(index.isFullyLoaded(n0), is(true));
+        assertThat(index.isFullyLoaded(n1), is(true));
+    }
+
+    @Test
+    public void testClear() {
+        index.add(n0, pos(0, 0));
+        index.load(0, 0);
+        index.clear();
+        assertThat(index.getNetworks(pos(0, 0)), is(Collections.<INetwork>emptySet()));
+        assertThat(index.hasLoadedChunks(n0, 0, null), is(false));
+    }
+
+}
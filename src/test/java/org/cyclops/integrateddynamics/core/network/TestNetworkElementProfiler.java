@@ -0,0 +1,134 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import org.cyclops.integrateddynamics.api.network.NetworkElementProfile;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the sampled update duration profiles of network elements.
+ * @author rubensworks
+ */
+public class TestNetworkElementProfiler {
+
+    private NetworkElementProfiler profiler;
+    private DummyNetworkElement e0;
+    private DummyNetworkElement e1;
+
+    @Before
+    public void beforeEach() {
+        profiler = new NetworkElementProfiler();
+        e0 = new DummyNetworkElement(0);
+        e1 = new DummyNetworkElement(1);
+    }
+
+    protected void record(DummyNetworkElement element, long durationNs, int times) {
+        for (int i = 0; i < times; i++) {
+            profiler.countInvocation(element, 1);
+            profiler.record(element, durationNs);
+        }
+    }
+
+    @Test
+    public void testBucketBounds() {
+        assertThat(NetworkElementProfiler.getBucket(0), is(0));
+        assertThat(NetworkElementProfiler.getBucket(255), is(0));
+        assertThat(NetworkElementProfiler.getBucket(256), is(1));
+        assertThat(NetworkElementProfiler.getBucket(511), is(1));
+        assertThat(NetworkElementProfiler.getBucket(512), is(2));
+        assertThat(NetworkElementProfiler.getBucket(10000), is(6));
+        assertThat(NetworkElementProfiler.getBucket(Long.MAX_VALUE), is(NetworkElementProfiler.BUCKETS - 1));
+    }
+
+    @Test
+    public void testSamplingInterval() {
+        int sampled = 0;
+        for (int i = 0; i < 10; i++) {
+            if (profiler.countInvocation(e0, 3)) {
+                sampled++;
+            }
+        }
+        assertThat(sampled, is(4));
+        assertThat("a disabled profiler does not sample", profiler.countInvocation(e1, 0), is(false));
+        assertThat(profiler.getProfile(e0), nullValue());
+    }
+
+    @Test
+    public void testProfile() {
+        record(e0, 100, 3);
+        record(e0, 1000, 1);
+        NetworkElementProfile profile = profiler.getProfile(e0);
+        assertThat(profile.getSamples(), is(4L));
+        assertThat(profile.getInvocations(), is(4L));
+        assertThat(profile.getMaxDurationNs(), is(1000L));
+        assertThat(profiler.getProfile(e1), nullValue());
+    }
+
+    @Test
+    public void testP99UpperBound() {
+        record(e0, 100, 99);
+        record(e0, 10000, 1);
+        assertThat("the slowest sample is within the 99th percentile",
+                profiler.getProfile(e0).getP99DurationNs(), is(1L << 14));
+
+        record(e1, 100, 199);
+        record(e1, 10000, 1);
+        assertThat("the slowest sample is outside the 99th percentile",
+                profiler.getProfile(e1).getP99DurationNs(), is(1L << 8));
+    }
+
+    @Test
+    public void testP99TopBucketIsMaximum() {
+        long duration = 1L << 40;
+        record(e0, duration, 1);
+        assertThat(profiler.getProfile(e0).getP99DurationNs(), is(duration));
+    }
+
+    @Test
+    public void testHistogramAging() {
+        // Fill the histogram until it is halved by the next sample.
+        record(e0, 100, 1 << 16);
+        record(e0, 10000, 500);
+        // Without aging, 500 of the 66036 samples would not reach the 99th percentile.
+        assertThat(profiler.getProfile(e0).getP99DurationNs(), is(1L << 14));
+        assertThat("aging does not influence the sample count",
+                profiler.getProfile(e0).getSamples(), is((long) (1 << 16) + 500));
+    }
+
+    @Test
+    public void testRemoveResetsSlot() {
+        record(e0, 100, 5);
+        profiler.remove(e0);
+        assertThat(profiler.getProfile(e0), nullValue());
+        // The freed slot is reused without its old samples.
+        record(e1, 1000, 1);
+        NetworkElementProfile profile = profiler.getProfile(e1);
+        assertThat(profile.getSamples(), is(1L));
+        assertThat(profile.getInvocations(), is(1L));
+        assertThat(profile.getMaxDurationNs(), is(1000L));
+    }
+
+    @Test
+    public void testRecordRemovedElement() {
+        profiler.countInvocation(e0, 1);
+        profiler.remove(e0);
+        profiler.record(e0, 100);
+        assertThat(profiler.getProfile(e0), nullValue());
+    }
+
+    @Test
+    public void testManyElements() {
+        DummyNetworkElement[] elements = new DummyNetworkElement[100];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = new DummyNetworkElement(i);
+            record(elements[i], i + 1, 1);
+        }
+        for (int i = 0; i < elements.length; i++) {
+            assertThat(profiler.getProfile(elements[i]).getMaxDurationNs(), is((long) i + 1));
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the timing wheel scheduling of network elements.
+ * @author rubensworks
+ */
+public class TestNetworkElementScheduler {
+
+    private NetworkElementScheduler scheduler;
+    private DummyNetworkElement e0;
+    private DummyNetworkElement e1;
+    private DummyNetworkElement e2;
+    private DummyNetworkElement e3;
+
+    @Before
+    public void beforeEach() {
+        scheduler = new NetworkElementScheduler();
+        e0 = new DummyNetworkElement(0);
+        e1 = new DummyNetworkElement(1);
+        e2 = new DummyNetworkElement(2);
+        e3 = new DummyNetworkElement(3);
+    }
+
+    /**
+     * Run a tick in which at most the given number of elements are polled,
+     * and reschedule each polled element with the given delay.
+     * @param limit The maximum number of elements to poll.
+     * @param delay The delay to reschedule polled elements with, or -1 to not reschedule them.
+     * @return The polled elements.
+     */
+    protected List<INetworkElement> tick(int limit, int delay) {
+        List<INetworkElement> polled = Lists.newArrayList();
+        scheduler.beginTick();
+        INetworkElement element;
+        while (polled.size() < limit && (element = scheduler.pollDue()) != null) {
+            polled.add(element);
+            if (delay >= 0) {
+                scheduler.reschedule(element, delay);
+            }
+        }
+        scheduler.endTick();
+        return polled;
+    }
+
+    protected List<INetworkElement> tick(int delay) {
+        return tick(Integer.MAX_VALUE, delay);
+    }
+
+    @Test
+    public void testScheduleInOrder() {
+        scheduler.schedule(e2, 0);
+        scheduler.schedule(e0, 0);
+        scheduler.schedule(e1, 1);
+        assertThat(tick(-1), is(Lists.<INetworkElement>newArrayList(e0, e2)));
+        assertThat(tick(-1), is(Lists.<INetworkElement>newArrayList(e1)));
+        assertThat(scheduler.size(), is(0));
+    }
+
+    @Test
+    public void testRescheduleInterval() {
+        scheduler.schedule(e0, 0);
+        int updates = 0;
+        for (int i = 0; i < 30; i++) {
+            updates += tick(10).size();
+        }
+        assertThat(updates, is(3));
+    }
+
+    @Test
+    public void testWheelWrapAround() {
+        // An interval larger than the wheel is visited once per revolution before it is due.
+        scheduler.schedule(e0, 300);
+        scheduler.schedule(e1, 256);
+        for (int i = 0; i < 256; i++) {
+            assertThat("tick " + i, tick(-1).size(), is(0));
+        }
+        assertThat(tick(-1), is(Lists.<INetworkElement>newArrayList(e1)));
+        for (int i = 257; i < 300; i++) {
+            assertThat("tick " + i, tick(-1).size(), is(0));
+        }
+        assertThat(tick(-1), is(Lists.<INetworkElement>newArrayList(e0)));
+        assertThat(scheduler.size(), is(0));
+    }
+
+    @Test
+    public void testDeferredFifo() {
+        scheduler.schedule(e3, 0);
+        scheduler.schedule(e2, 0);
+        scheduler.schedule(e1, 1);
+        scheduler.schedule(e0, 1);
+        assertThat(tick(0, -1).size(), is(0));
+        // e2 and e3 were deferred, and are polled before the elements due in this tick.
+        assertThat(tick(1, -1), is(Lists.<INetworkElement>newArrayList(e2)));
+        assertThat(tick(1, -1), is(Lists.<INetworkElement>newArrayList(e3)));
+        assertThat(tick(-1), is(Lists.<INetworkElement>newArrayList(e0, e1)));
+    }
+
+    @Test
+    public void testEndTickCountsDeferred() {
+        scheduler.schedule(e0, 0);
+        scheduler.schedule(e1, 0);
+        scheduler.beginTick();
+        assertThat(scheduler.endTick(), is(2));
+        scheduler.remove(e0);
+        scheduler.beginTick();
+        assertThat(scheduler.endTick(), is(1));
+    }
+
+    @Test
+    public void testRemoveDeferred() {
+        scheduler.schedule(e0, 0);
+        scheduler.schedule(e1, 0);
+        scheduler.schedule(e2, 0);
+        tick(0, -1);
+        assertThat(scheduler.remove(e1), is(0));
+        assertThat(scheduler.contains(e1), is(false));
+        assertThat(tick(-1), is(Lists.<INetworkElement>newArrayList(e0, e2)));
+    }
+
+    @Test
+    public void testRemoveAndRescheduleDeferred() {
+        scheduler.schedule(e0, 0);
+        scheduler.schedule(e1, 0);
+        tick(0, -1);
+        scheduler.remove(e0);
+        scheduler.schedule(e0, 1);
+        // The stale deferred entry of e0 is skipped.
+        assertThat(tick(-1), is(Lists.<INetworkElement>newArrayList(e1)));
+        assertThat(tick(-1), is(Lists.<INetworkElement>newArrayList(e0)));
+        assertThat(scheduler.size(), is(0));
+    }
+
+    @Test
+    public void testRemoveReturnsRemainingTicks() {
+        scheduler.schedule(e0, 5);
+        tick(-1);
+        assertThat(scheduler.remove(e0), is(4));
+        assertThat(scheduler.remove(e0), is(-1));
+    }
+
+}
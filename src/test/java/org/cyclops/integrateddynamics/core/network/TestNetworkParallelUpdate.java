@@ -0,0 +1,179 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import net.minecraft.util.math.BlockPos;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.cyclops.integrateddynamics.api.path.IPathElement;
+import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
+import org.cyclops.integrateddynamics.capability.path.SidedPathElement;
+import org.cyclops.integrateddynamics.core.path.Cluster;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test if updating actual networks gives the same results in serial and parallel mode.
+ * @author rubensworks
+ */
+public class TestNetworkParallelUpdate {
+
+    private static final int NETWORKS = 32;
+    private static final int ELEMENTS = 16;
+    private static final int TICKS = 20;
+
+    protected DummyNetwork[] createNetworks(List<Long> world, boolean withNonConcurrent) {
+        DummyNetwork[] networks = new DummyNetwork[NETWORKS];
+        for (int i = 0; i < NETWORKS; i++) {
+            List<INetworkElement> elements = Lists.newArrayList();
+            for (int j = 0; j < ELEMENTS; j++) {
+                boolean concurrent = !withNonConcurrent || i % 4 != 0 || j != 0;
+                elements.add(new EvaluatingElement(j, i, world, concurrent));
+            }
+            networks[i] = new DummyNetwork(i, elements);
+        }
+        return networks;
+    }
+
+    protected List<Long> run(boolean parallel, boolean withNonConcurrent) {
+        List<Long> world = Lists.newArrayList();
+        world.add(1L);
+        DummyNetwork[] networks = createNetworks(world, withNonConcurrent);
+        for (int tick = 0; tick < TICKS; tick++) {
+            NetworkTickPhases.tick(networks, Network::update, network -> {}, parallel,
+                    Network::hasOnlyConcurrentElements);
+        }
+        return world;
+    }
+
+    @Test
+    public void testSerialParallelEqual() {
+        List<Long> serial = run(false, false);
+        assertThat(serial.size() > 1, is(true));
+        assertThat(run(true, false), is(serial));
+    }
+
+    @Test
+    public void testSerialParallelEqualNonConcurrent() {
+        assertThat(run(true, true), is(run(false, true)));
+    }
+
+    @Test
+    public void testHasOnlyConcurrentElements() {
+        List<Long> world = Lists.newArrayList();
+        EvaluatingElement nonConcurrent = new EvaluatingElement(1, 0, world, false);
+        DummyNetwork network = new DummyNetwork(0, Lists.newArrayList(
+                new EvaluatingElement(0, 0, world, true), nonConcurrent));
+        assertThat(network.hasOnlyConcurrentElements(), is(false));
+
+        network.removeNetworkElementPre(nonConcurrent);
+        network.removeNetworkElementPost(nonConcurrent);
+        assertThat(network.hasOnlyConcurrentElements(), is(true));
+    }
+
+    /**
+     * A network with a single path element, of which the network elements are not derived from the world.
+     */
+    public static class DummyNetwork extends Network {
+
+        public DummyNetwork(int id, List<INetworkElement> elements) {
+            super(new Cluster(Sets.newTreeSet(Collections.<ISidedPathElement>singleton(
+                    SidedPathElement.of(new DummyPathElement(id), null)))));
+            for (INetworkElement element : elements) {
+                addNetworkElement(element, true);
+            }
+            initialize();
+        }
+
+        @Override
+        protected void indexPathElements() {
+
+        }
+
+        @Override
+        protected void deriveNetworkElements(ISidedPathElement sidedPathElement,
+                                             @Nullable List<INetworkElement> addedElements) {
+
+        }
+
+    }
+
+    public static class DummyPathElement implements IPathElement {
+
+        private final DimPos position;
+
+        public DummyPathElement(int id) {
+            this.position = DimPos.of(0, new BlockPos(id, 0, 0));
+        }
+
+        @Override
+        public DimPos getPosition() {
+            return position;
+        }
+
+        @Override
+        public Set<ISidedPathElement> getReachableElements() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public int compareTo(IPathElement o) {
+            return position.compareTo(o.getPosition());
+        }
+
+    }
+
+    /**
+     * An element that evaluates something based on the shared state, and only changes that state in the apply phase.
+     */
+    public static class EvaluatingElement extends DummyNetworkElement {
+
+        private final int networkId;
+        private final List<Long> world;
+        private final boolean concurrent;
+        private long value;
+
+        public EvaluatingElement(int id, int networkId, List<Long> world, boolean concurrent) {
+            super(id);
+            this.networkId = networkId;
+            this.world = world;
+            this.concurrent = concurrent;
+            this.value = networkId * 31 + id;
+        }
+
+        @Override
+        public boolean isUpdate() {
+            return true;
+        }
+
+        @Override
+        public int getUpdateInterval() {
+            return getId() % 3 + 1;
+        }
+
+        @Override
+        public boolean isConcurrent() {
+            return concurrent;
+        }
+
+        @Override
+        public void update(INetwork network) {
+            long last = world.get(world.size() - 1);
+            for (int i = 0; i < 1000; i++) {
+                value = value * 31 + last + networkId;
+            }
+            long value = this.value;
+            NetworkTickPhases.apply(() -> world.add(value));
+        }
+
+    }
+
+}
@@ -0,0 +1,131 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test if ticking in a compute and apply phase gives the same results in serial and parallel mode.
+ * This tests the phase mechanism with dummy units, {@link TestNetworkParallelUpdate} tests actual networks.
+ * @author rubensworks
+ */
+public class TestNetworkTickPhases {
+
+    private static final int UNITS = 64;
+    private static final int TICKS = 20;
+
+    /**
+     * A unit that evaluates something based on the shared state, and mutates that state afterwards.
+     */
+    private static class DummyUnit {
+
+        private final int id;
+        private long value;
+
+        private DummyUnit(int id) {
+            this.id = id;
+            this.value = id;
+        }
+
+    }
+
+    protected List<Long> run(boolean parallel, Predicate<DummyUnit> isConcurrent) {
+        List<Long> world = Lists.newArrayList();
+        world.add(1L);
+        DummyUnit[] units = new DummyUnit[UNITS];
+        for (int i = 0; i < UNITS; i++) {
+            units[i] = new DummyUnit(i);
+        }
+        Consumer<DummyUnit> compute = unit -> {
+            // Only read the shared state during the compute phase
+            long last = world.get(world.size() - 1);
+            for (int i = 0; i < 1000; i++) {
+                unit.value = unit.value * 31 + last + unit.id;
+            }
+            long value = unit.value;
+            NetworkTickPhases.apply(() -> world.add(value));
+        };
+        for (int tick = 0; tick < TICKS; tick++) {
+            NetworkTickPhases.tick(units, compute, unit -> {}, parallel, isConcurrent);
+        }
+        return world;
+    }
+
+    @Test
+    public void testSerialEqualsParallel() {
+        assertThat(run(true, unit -> true), is(run(false, unit -> true)));
+    }
+
+    @Test
+    public void testApplyOutsideCompute() {
+        List<Integer> applied = Lists.newArrayList();
+        NetworkTickPhases.apply(() -> applied.add(1));
+        assertThat(applied.size(), is(1));
+        assertThat(NetworkTickPhases.isComputing(), is(false));
+    }
+
+    @Test
+    public void testSerialEqualsParallelNonConcurrent() {
+        assertThat(run(true, unit -> unit.id % 3 != 0), is(run(false, unit -> true)));
+    }
+
+    @Test
+    public void testNonConcurrentComputedFirst() {
+        List<Integer> computed = Collections.synchronizedList(Lists.newArrayList());
+        Integer[] units = new Integer[]{0, 1, 2, 3};
+        NetworkTickPhases.tick(units, computed::add, unit -> {}, true, unit -> unit != 2);
+        assertThat("the non-concurrent unit is computed before the others", computed.get(0), is(2));
+        assertThat(computed.size(), is(4));
+    }
+
+    @Test
+    public void testComputeErrorAppliesOtherUnits() {
+        List<Integer> applied = Lists.newArrayList();
+        List<Integer> crashed = Lists.newArrayList();
+        Integer[] units = new Integer[]{0, 1, 2, 3};
+        try {
+            NetworkTickPhases.tick(units, unit -> {
+                NetworkTickPhases.apply(() -> applied.add(unit));
+                if (unit == 2) {
+                    throw new IllegalStateException();
+                }
+            }, crashed::add, true);
+        } catch (IllegalStateException e) {
+            assertThat(applied, is(Lists.newArrayList(0, 1, 2, 3)));
+            assertThat(crashed, is(Lists.newArrayList(2)));
+            return;
+        }
+        throw new AssertionError("The compute error was not rethrown");
+    }
+
+    @Test
+    public void testApplyErrorCrashesUnit() {
+        List<Integer> applied = Lists.newArrayList();
+        List<Integer> crashed = Lists.newArrayList();
+        Integer[] units = new Integer[]{0, 1, 2, 3};
+        try {
+            NetworkTickPhases.tick(units, unit -> {
+                NetworkTickPhases.apply(() -> {
+                    if (unit == 1 || unit == 2) {
+                        throw new IllegalStateException();
+                    }
+                    applied.add(unit);
+                });
+                NetworkTickPhases.apply(() -> applied.add(unit * 10));
+            }, crashed::add, false);
+        } catch (IllegalStateException e) {
+            assertThat("the remaining mutations of failed units are dropped", applied, is(Lists.newArrayList(0, 0, 3, 30)));
+            assertThat(crashed, is(Lists.newArrayList(1, 2)));
+            return;
+        }
+        throw new AssertionError("The apply error was not rethrown");
+    }
+
+}
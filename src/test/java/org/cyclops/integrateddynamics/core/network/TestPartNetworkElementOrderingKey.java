@@ -0,0 +1,63 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the ordering of part network elements by their cached key.
+ * @author rubensworks
+ */
+public class TestPartNetworkElementOrderingKey {
+
+    private static final String CLASS_A = "org.cyclops.integrateddynamics.part.PartTypeA";
+    private static final String CLASS_B = "org.cyclops.integrateddynamics.part.PartTypeB";
+    private static final String NAME_A = "parttype.a";
+    private static final String NAME_B = "parttype.b";
+
+    protected static PartNetworkElement.OrderingKey key(String className, int priority, String name, long pos) {
+        return new PartNetworkElement.OrderingKey(className, priority, name, 0, pos, 0);
+    }
+
+    @Test
+    public void testEqualsConsistentWithCompareTo() {
+        PartNetworkElement.OrderingKey a = key(CLASS_A, 0, NAME_A, 1);
+        PartNetworkElement.OrderingKey aCopy = key(new String(CLASS_A), 0, new String(NAME_A), 1);
+        PartNetworkElement.OrderingKey aPriority = key(CLASS_A, 10, NAME_A, 1);
+        assertThat(a.compareTo(aCopy), is(0));
+        assertThat(a.equals(aCopy), is(true));
+        assertThat(a.hashCode(), is(aCopy.hashCode()));
+
+        assertThat(a.compareTo(aPriority) == 0, is(false));
+        assertThat(a.equals(aPriority), is(false));
+    }
+
+    @Test
+    public void testIdentityIgnoresPriority() {
+        PartNetworkElement.OrderingKey a = key(CLASS_A, 0, NAME_A, 1);
+        PartNetworkElement.OrderingKey aPriority = key(CLASS_A, 10, NAME_A, 1);
+        assertThat(a.compareIdentity(aPriority), is(0));
+        assertThat("the hash code does not depend on the priority", a.hashCode(), is(aPriority.hashCode()));
+        assertThat(a.compareIdentity(key(CLASS_A, 0, NAME_A, 2)) < 0, is(true));
+    }
+
+    @Test
+    public void testOrder() {
+        // Part type class first, then a higher priority, then part type name and position.
+        assertThat(key(CLASS_A, 0, NAME_B, 5).compareTo(key(CLASS_B, 10, NAME_A, 1)) < 0, is(true));
+        assertThat(key(CLASS_A, 10, NAME_B, 5).compareTo(key(CLASS_A, 0, NAME_A, 1)) < 0, is(true));
+        assertThat(key(CLASS_A, 0, NAME_A, 5).compareTo(key(CLASS_A, 0, NAME_B, 1)) < 0, is(true));
+        assertThat(key(CLASS_A, 0, NAME_A, 1).compareTo(key(CLASS_A, 0, NAME_A, 5)) < 0, is(true));
+    }
+
+    @Test
+    public void testOrderIndependentOfCreationOrder() {
+        // Keys only depend on names, so creating keys of type B first does not change the order.
+        PartNetworkElement.OrderingKey b = key(CLASS_B, 0, NAME_B, 1);
+        PartNetworkElement.OrderingKey a = key(CLASS_A, 0, NAME_A, 1);
+        assertThat(a.compareTo(b) < 0, is(true));
+        assertThat(b.compareTo(a) > 0, is(true));
+    }
+
+}
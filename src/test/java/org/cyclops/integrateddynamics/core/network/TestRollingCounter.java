@@ -0,0 +1,85 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the rolling one-second and one-minute windows of a counter.
+ * @author rubensworks
+ */
+public class TestRollingCounter {
+
+    private RollingCounter counter;
+
+    @Before
+    public void beforeEach() {
+        counter = new RollingCounter();
+    }
+
+    protected void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            counter.tick();
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        assertThat(counter.getLastSecond(), is(0L));
+        assertThat(counter.getLastMinute(), is(0L));
+    }
+
+    @Test
+    public void testSecondRollover() {
+        counter.add(5);
+        tick(1);
+        counter.add(3);
+        assertThat(counter.getLastSecond(), is(8L));
+        tick(18);
+        assertThat("the first value is still in the last 20 ticks", counter.getLastSecond(), is(8L));
+        tick(1);
+        assertThat("the first value fell out after 20 ticks", counter.getLastSecond(), is(3L));
+        tick(1);
+        assertThat(counter.getLastSecond(), is(0L));
+        assertThat(counter.getLastMinute(), is(8L));
+    }
+
+    @Test
+    public void testSecondContainsLastTwentyTicks() {
+        for (int i = 0; i < 100; i++) {
+            counter.add(1);
+            tick(1);
+        }
+        assertThat(counter.getLastSecond(), is(19L));
+        counter.add(1);
+        assertThat(counter.getLastSecond(), is(20L));
+    }
+
+    @Test
+    public void testMinuteRollover() {
+        // Add a value in the first tick of the first second.
+        counter.add(7);
+        tick(20);
+        counter.add(2);
+        tick(59 * 20 - 1);
+        assertThat("the first second is still in the window", counter.getLastMinute(), is(9L));
+        tick(1);
+        assertThat("the first second fell out after 60 seconds", counter.getLastMinute(), is(2L));
+        tick(20);
+        assertThat(counter.getLastMinute(), is(0L));
+    }
+
+    @Test
+    public void testMinuteWrapsAround() {
+        for (int second = 0; second < 200; second++) {
+            counter.add(1);
+            tick(20);
+        }
+        assertThat("only the 59 completed seconds and the current second are counted",
+                counter.getLastMinute(), is(59L));
+        assertThat(counter.getLastSecond(), is(0L));
+    }
+
+}
@@ -0,0 +1,141 @@
+package org.cyclops.integrateddynamics.core.part.aspect;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.expression.VariableAdapter;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the value-change cutoff when refreshing aspect variables.
+ * @author rubensworks
+ */
+public class TestLazyAspectVariable {
+
+    private CountingAspectVariable variable;
+    private CachingVariable dependent;
+
+    /**
+     * An aspect variable of which the value can be changed, and that counts its calculations.
+     */
+    private static class CountingAspectVariable extends LazyAspectVariable<ValueTypeInteger.ValueInteger> {
+
+        private int value = 0;
+        private boolean error = false;
+        private int calculations = 0;
+
+        public CountingAspectVariable() {
+            super(ValueTypes.INTEGER, null, null);
+        }
+
+        @Override
+        public ValueTypeInteger.ValueInteger getValueLazy() throws EvaluationException {
+            calculations++;
+            if (error) {
+                throw new EvaluationException("error");
+            }
+            return ValueTypeInteger.ValueInteger.of(value);
+        }
+    }
+
+    /**
+     * A dependent variable that caches a value until it is invalidated.
+     */
+    private static class CachingVariable extends VariableAdapter<ValueTypeInteger.ValueInteger> {
+
+        private boolean cached = true;
+
+        @Override
+        public boolean canInvalidate() {
+            return cached;
+        }
+
+        @Override
+        public void invalidate() {
+            super.invalidate();
+            cached = false;
+        }
+
+        @Override
+        protected boolean hasCachedValue() {
+            return cached;
+        }
+
+        @Override
+        public IValueType<ValueTypeInteger.ValueInteger> getType() {
+            return ValueTypes.INTEGER;
+        }
+
+        @Override
+        public ValueTypeInteger.ValueInteger getValue() throws EvaluationException {
+            return ValueTypeInteger.ValueInteger.of(0);
+        }
+    }
+
+    @Before
+    public void beforeEach() throws EvaluationException {
+        variable = new CountingAspectVariable();
+        dependent = new CachingVariable();
+        variable.getValue();
+        variable.addDependent(dependent);
+    }
+
+    @Test
+    public void testUnchangedValueKeepsDependents() throws EvaluationException {
+        variable.refresh();
+        assertThat(dependent.cached, is(true));
+        assertThat(variable.canInvalidate(), is(true));
+        assertThat(variable.getValue(), is(ValueTypeInteger.ValueInteger.of(0)));
+        assertThat(variable.calculations, is(2));
+    }
+
+    @Test
+    public void testUnchangedValueKeepsDependentsWithoutRead() {
+        variable.refresh();
+        // The dependent still caches a derived value, so the variable keeps being recalculated.
+        variable.refresh();
+        assertThat(dependent.cached, is(true));
+        assertThat(variable.calculations, is(3));
+    }
+
+    @Test
+    public void testChangedValueInvalidatesDependents() throws EvaluationException {
+        variable.value = 1;
+        variable.refresh();
+        assertThat(dependent.cached, is(false));
+        assertThat(variable.getValue(), is(ValueTypeInteger.ValueInteger.of(1)));
+        assertThat("the new value is not calculated again", variable.calculations, is(2));
+    }
+
+    @Test
+    public void testErrorInvalidates() {
+        variable.error = true;
+        variable.refresh();
+        assertThat(dependent.cached, is(false));
+        assertThat(variable.canInvalidate(), is(false));
+    }
+
+    @Test
+    public void testUnusedValueInvalidates() {
+        dependent.invalidate();
+        variable.refresh();
+        variable.refresh();
+        assertThat("a value that is not read and not cached by dependents is not recalculated",
+                variable.calculations, is(2));
+        assertThat(variable.canInvalidate(), is(false));
+    }
+
+    @Test
+    public void testRefreshWithoutValue() {
+        variable.invalidate();
+        variable.refresh();
+        assertThat(variable.calculations, is(1));
+        assertThat(variable.canInvalidate(), is(false));
+    }
+
+}
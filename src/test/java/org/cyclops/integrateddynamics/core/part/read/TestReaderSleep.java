@@ -0,0 +1,213 @@
+package org.cyclops.integrateddynamics.core.part.read;
+
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.network.IEnergyConsumingNetworkElement;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.cyclops.integrateddynamics.core.network.DummyNetworkElement;
+import org.cyclops.integrateddynamics.core.network.Network;
+import org.cyclops.integrateddynamics.core.network.NetworkTickPhases;
+import org.cyclops.integrateddynamics.core.network.TestNetworkParallelUpdate;
+import org.cyclops.integrateddynamics.core.part.aspect.LazyAspectVariable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the sleeping of demand-driven readers of which no aspect is observed.
+ * @author rubensworks
+ */
+public class TestReaderSleep {
+
+    private boolean oldDemandDrivenReaders;
+    private ReaderElement reader;
+    private CountingNetwork network;
+
+    @Before
+    public void beforeEach() {
+        oldDemandDrivenReaders = GeneralConfig.demandDrivenReaders;
+        GeneralConfig.demandDrivenReaders = true;
+        reader = new ReaderElement();
+        network = new CountingNetwork(reader);
+    }
+
+    @After
+    public void afterEach() {
+        GeneralConfig.demandDrivenReaders = oldDemandDrivenReaders;
+    }
+
+    protected void tick() {
+        NetworkTickPhases.tick(new Network[]{network}, Network::update, network -> {}, false);
+    }
+
+    /**
+     * Request the value of the variable of the reader from within the compute phase of a tick.
+     * @return If the reader was still sleeping at the end of the compute phase.
+     */
+    protected boolean readInComputePhase() {
+        boolean[] sleeping = new boolean[1];
+        NetworkTickPhases.tick(new Object[]{reader}, unit -> {
+            try {
+                reader.variable.getValue();
+                // Observe the variable again, as if it was invalidated in the meantime.
+                reader.variable.invalidate();
+                reader.variable.getValue();
+            } catch (EvaluationException e) {
+                throw new RuntimeException(e);
+            }
+            sleeping[0] = reader.state.isSleeping();
+        }, unit -> {}, false);
+        return sleeping[0];
+    }
+
+    @Test
+    public void testSleepWhenNotObserved() {
+        tick();
+        assertThat(reader.updates, is(1));
+        assertThat(network.consumed, is(10));
+        assertThat(reader.state.isSleeping(), is(true));
+
+        for (int i = 0; i < 10; i++) {
+            tick();
+        }
+        assertThat("a sleeping reader is not updated", reader.updates, is(1));
+        assertThat("a sleeping reader does not consume energy", network.consumed, is(10));
+    }
+
+    @Test
+    public void testNoSleepWhenNotDemandDriven() {
+        GeneralConfig.demandDrivenReaders = false;
+        for (int i = 0; i < 3; i++) {
+            tick();
+        }
+        assertThat(reader.updates, is(3));
+        assertThat(network.consumed, is(30));
+        assertThat(reader.state.isSleeping(), is(false));
+    }
+
+    @Test
+    public void testWakeWhenObserved() {
+        tick();
+        assertThat(reader.state.isSleeping(), is(true));
+
+        assertThat("the reader is only woken up in the apply phase", readInComputePhase(), is(true));
+        assertThat(reader.state.isSleeping(), is(false));
+        assertThat("the reader is rescheduled exactly once", network.wakes, is(1));
+
+        tick();
+        assertThat(reader.updates, is(2));
+        assertThat(network.consumed, is(20));
+        assertThat("the reader stays awake while its aspect is observed", reader.state.isSleeping(), is(false));
+        tick();
+        assertThat(reader.updates, is(3));
+    }
+
+    @Test
+    public void testAfterNetworkReAliveClearsSleeping() {
+        tick();
+        assertThat(reader.state.isSleeping(), is(true));
+
+        network.initialize();
+        assertThat("the network schedules all its elements when it is initialized",
+                reader.state.isSleeping(), is(false));
+        assertThat("a reader that is not sleeping is not woken up", readInComputePhase(), is(false));
+        assertThat(network.wakes, is(0));
+
+        tick();
+        assertThat(reader.updates, is(2));
+    }
+
+    /**
+     * A network with a single reader, that counts the consumed energy instead of extracting it from batteries.
+     */
+    public static class CountingNetwork extends TestNetworkParallelUpdate.DummyNetwork {
+
+        private int consumed = 0;
+        private int wakes = 0;
+
+        public CountingNetwork(INetworkElement element) {
+            super(0, Lists.newArrayList(element));
+        }
+
+        @Override
+        public void postUpdate(INetworkElement element) {
+            super.postUpdate(element);
+            consumed += ((IEnergyConsumingNetworkElement) element).getConsumptionRate();
+        }
+
+        @Override
+        public synchronized void wakeNetworkElement(INetworkElement element) {
+            wakes++;
+            super.wakeNetworkElement(element);
+        }
+
+    }
+
+    /**
+     * A reader with a single aspect, that is updated in the same way as {@link PartTypeReadBase}.
+     */
+    public static class ReaderElement extends DummyNetworkElement implements IEnergyConsumingNetworkElement {
+
+        private final PartStateReaderBase<?> state = new PartStateReaderBase<>();
+        private final LazyAspectVariable<ValueTypeInteger.ValueInteger> variable;
+        private INetwork network = null;
+        private int updates = 0;
+
+        public ReaderElement() {
+            super(0);
+            this.variable = new LazyAspectVariable<ValueTypeInteger.ValueInteger>(ValueTypes.INTEGER, null, null) {
+                @Override
+                public ValueTypeInteger.ValueInteger getValueLazy() throws EvaluationException {
+                    return ValueTypeInteger.ValueInteger.of(updates);
+                }
+            };
+            this.variable.setObservationListener(() -> ReaderSleep.onAspectObserved(state,
+                    () -> ReaderSleep.wake(state, () -> network, this)));
+        }
+
+        @Override
+        public boolean onNetworkAddition(INetwork network) {
+            this.network = network;
+            return true;
+        }
+
+        @Override
+        public boolean isUpdate() {
+            return true;
+        }
+
+        @Override
+        public void update(INetwork network) {
+            updates++;
+            boolean observed = variable.isObserved();
+            if (observed) {
+                variable.refresh();
+            }
+            ReaderSleep.afterUpdate(network, this, state, observed);
+        }
+
+        @Override
+        public void afterNetworkReAlive(INetwork network) {
+            ReaderSleep.afterNetworkReAlive(state);
+        }
+
+        @Override
+        public int getConsumptionRate() {
+            return 10;
+        }
+
+        @Override
+        public void postUpdate(INetwork network, boolean updated) {
+
+        }
+
+    }
+
+}
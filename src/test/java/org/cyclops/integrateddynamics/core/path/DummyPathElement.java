@@ -0,0 +1,69 @@
+package org.cyclops.integrateddynamics.core.path;
+
+import com.google.common.collect.Sets;
+import net.minecraft.util.math.BlockPos;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.api.path.IPathElement;
+import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
+import org.cyclops.integrateddynamics.capability.path.SidedPathElement;
+
+import java.util.Set;
+
+/**
+ * A dummy path element at a position, of which the connections are set explicitly.
+ * @author rubensworks
+ */
+public class DummyPathElement implements IPathElement {
+
+    private final DimPos position;
+    private final Set<ISidedPathElement> reachableElements = Sets.newTreeSet();
+
+    public DummyPathElement(int x, int z) {
+        this.position = DimPos.of(0, new BlockPos(x, 64, z));
+    }
+
+    /**
+     * Connect the two given path elements in both directions.
+     * @param a A path element.
+     * @param b Another path element.
+     */
+    public static void connect(DummyPathElement a, DummyPathElement b) {
+        a.reachableElements.add(b.sided());
+        b.reachableElements.add(a.sided());
+    }
+
+    /**
+     * Disconnect the two given path elements in both directions.
+     * @param a A path element.
+     * @param b Another path element.
+     */
+    public static void disconnect(DummyPathElement a, DummyPathElement b) {
+        a.reachableElements.remove(b.sided());
+        b.reachableElements.remove(a.sided());
+    }
+
+    public ISidedPathElement sided() {
+        return SidedPathElement.of(this, null);
+    }
+
+    @Override
+    public DimPos getPosition() {
+        return position;
+    }
+
+    @Override
+    public Set<ISidedPathElement> getReachableElements() {
+        return reachableElements;
+    }
+
+    @Override
+    public int compareTo(IPathElement o) {
+        return position.compareTo(o.getPosition());
+    }
+
+    @Override
+    public String toString() {
+        return "DummyPathElement{" + position.getBlockPos() + "}";
+    }
+
+}
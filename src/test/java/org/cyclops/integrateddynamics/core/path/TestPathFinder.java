@@ -0,0 +1,189 @@
+package org.cyclops.integrateddynamics.core.path;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import net.minecraft.util.EnumFacing;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
+import org.cyclops.integrateddynamics.capability.path.SidedPathElement;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the construction of clusters of path elements.
+ * @author rubensworks
+ */
+public class TestPathFinder {
+
+    /**
+     * Create path elements along the x axis that are connected to their neighbours.
+     * @param startX The x coordinate of the first element.
+     * @param z The z coordinate of all elements.
+     * @param length The number of elements.
+     * @return The path elements.
+     */
+    protected static DummyPathElement[] line(int startX, int z, int length) {
+        DummyPathElement[] elements = new DummyPathElement[length];
+        for (int i = 0; i < length; i++) {
+            elements[i] = new DummyPathElement(startX + i, z);
+            if (i > 0) {
+                DummyPathElement.connect(elements[i - 1], elements[i]);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Remove the given path element from its neighbours.
+     * @param element The path element to remove.
+     * @return The neighbours the path element was connected to.
+     */
+    protected static List<ISidedPathElement> remove(DummyPathElement element) {
+        List<ISidedPathElement> neighbours = Lists.newArrayList(element.getReachableElements());
+        for (ISidedPathElement neighbour : neighbours) {
+            DummyPathElement.disconnect(element, (DummyPathElement) neighbour.getPathElement());
+        }
+        return neighbours;
+    }
+
+    protected static Set<DimPos> positions(DummyPathElement... elements) {
+        Set<DimPos> positions = Sets.newHashSet();
+        for (DummyPathElement element : elements) {
+            positions.add(element.getPosition());
+        }
+        return positions;
+    }
+
+    protected static Set<DimPos> positions(Cluster cluster) {
+        Set<DimPos> positions = Sets.newHashSet();
+        for (ISidedPathElement element : cluster) {
+            positions.add(element.getPathElement().getPosition());
+        }
+        return positions;
+    }
+
+    protected static List<Set<DimPos>> positions(List<Cluster> clusters) {
+        List<Set<DimPos>> positions = Lists.newArrayList();
+        for (Cluster cluster : clusters) {
+            positions.add(positions(cluster));
+        }
+        return positions;
+    }
+
+    @Test
+    public void testConnectedClusterLongChain() {
+        // Deep enough to overflow the stack of a recursive traversal.
+        DummyPathElement[] chain = line(0, 0, 150000);
+        DummyPathElement[] separate = line(0, 1, 2);
+
+        Set<DimPos> expected = positions(chain);
+        assertThat(positions(PathFinder.getConnectedCluster(chain[0].sided())), is(expected));
+        assertThat(positions(PathFinder.getConnectedCluster(chain[chain.length / 2].sided())), is(expected));
+        assertThat(positions(PathFinder.getConnectedCluster(separate[1].sided())), is(positions(separate)));
+    }
+
+    @Test
+    public void testConnectedClusterGrid() {
+        int size = 64;
+        DummyPathElement[][] grid = new DummyPathElement[size][];
+        Set<DimPos> expected = Sets.newHashSet();
+        for (int z = 0; z < size; z++) {
+            grid[z] = line(0, z, size);
+            expected.addAll(positions(grid[z]));
+            if (z > 0) {
+                for (int x = 0; x < size; x++) {
+                    DummyPathElement.connect(grid[z - 1][x], grid[z][x]);
+                }
+            }
+        }
+        // A branch that leaves the grid, and is connected to it by a single element.
+        DummyPathElement[] branch = line(size, size / 2, 10);
+        DummyPathElement.connect(grid[size / 2][size - 1], branch[0]);
+        expected.addAll(positions(branch));
+        // An element that is next to the grid, but not connected to it.
+        DummyPathElement unconnected = new DummyPathElement(-1, 0);
+
+        Cluster cluster = PathFinder.getConnectedCluster(grid[size / 3][size / 5].sided());
+        assertThat(cluster.size(), is(size * size + branch.length));
+        assertThat(positions(cluster), is(expected));
+        assertThat(positions(PathFinder.getConnectedCluster(branch[9].sided())), is(expected));
+        assertThat(positions(PathFinder.getConnectedCluster(unconnected.sided())), is(positions(unconnected)));
+    }
+
+    @Test
+    public void testDisconnectedClustersRing() {
+        DummyPathElement[] ring = line(0, 0, 8);
+        DummyPathElement.connect(ring[7], ring[0]);
+        List<ISidedPathElement> heads = remove(ring[0]);
+
+        assertThat(heads.size(), is(2));
+        assertThat(PathFinder.getDisconnectedClusters(heads).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testDisconnectedClustersLineTwoComponents() {
+        DummyPathElement[] line = line(0, 0, 10);
+        List<ISidedPathElement> heads = remove(line[3]);
+
+        assertThat(positions(PathFinder.getDisconnectedClusters(heads)),
+                is(Collections.singletonList(positions(line[0], line[1], line[2]))));
+    }
+
+    @Test
+    public void testDisconnectedClustersLineThreeComponents() {
+        DummyPathElement center = new DummyPathElement(0, 0);
+        DummyPathElement[] arm1 = line(1, 0, 1);
+        DummyPathElement[] arm3 = line(-3, 0, 3);
+        DummyPathElement[] arm5 = line(0, 1, 5);
+        DummyPathElement.connect(center, arm1[0]);
+        DummyPathElement.connect(center, arm3[2]);
+        DummyPathElement.connect(center, arm5[0]);
+        List<ISidedPathElement> heads = remove(center);
+
+        assertThat(heads.size(), is(3));
+        assertThat("all clusters except for the largest one are returned, from small to large",
+                positions(PathFinder.getDisconnectedClusters(heads)),
+                is(Lists.newArrayList(positions(arm1), positions(arm3))));
+    }
+
+    @Test
+    public void testDisconnectedClustersSharedHeadPositions() {
+        DummyPathElement[] line = line(0, 0, 6);
+        remove(line[2]);
+
+        List<ISidedPathElement> sameHeads = Lists.newArrayList(
+                SidedPathElement.of(line[1], EnumFacing.EAST),
+                SidedPathElement.of(line[1], EnumFacing.WEST));
+        assertThat("heads at the same position are one exploration",
+                PathFinder.getDisconnectedClusters(sameHeads).isEmpty(), is(true));
+
+        List<ISidedPathElement> heads = Lists.newArrayList(
+                SidedPathElement.of(line[1], EnumFacing.EAST),
+                SidedPathElement.of(line[1], EnumFacing.WEST),
+                line[3].sided());
+        assertThat(positions(PathFinder.getDisconnectedClusters(heads)),
+                is(Collections.singletonList(positions(line[0], line[1]))));
+    }
+
+    @Test
+    public void testDisconnectedClustersTransitiveMerge() {
+        DummyPathElement[] line = line(0, 0, 13);
+        List<ISidedPathElement> heads = Lists.newArrayList(
+                line[0].sided(), line[4].sided(), line[8].sided(), line[12].sided());
+
+        assertThat("explorations that meet through other explorations are merged",
+                PathFinder.getDisconnectedClusters(heads).isEmpty(), is(true));
+
+        DummyPathElement[] separate = line(20, 0, 2);
+        heads.add(separate[0].sided());
+        assertThat(positions(PathFinder.getDisconnectedClusters(heads)),
+                is(Collections.singletonList(positions(separate))));
+    }
+
+}